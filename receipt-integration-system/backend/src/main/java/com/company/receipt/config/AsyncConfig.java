@@ -1,16 +1,31 @@
 package com.company.receipt.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler() {
+        // @Scheduled 작업 공용 스케줄러. 기본값(스레드 1개)이면 샤드 작업자처럼 오래 도는 작업이
+        // 웹훅 flush, 다운로드 작업자, 동기화 큐 폴링, ShedLock 작업을 모두 막으므로 여러 스레드로 둔다
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(8);
+        scheduler.setThreadNamePrefix("Scheduler-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        scheduler.initialize();
+        return scheduler;
+    }
+
     @Bean(name = "receiptProcessingExecutor")
     public Executor receiptProcessingExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -32,4 +47,42 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    @Bean(name = "cardSyncExecutor")
+    public Executor cardSyncExecutor() {
+        // 카드사 HTTP 호출로 블로킹되므로 공용 ForkJoinPool 대신 전용 풀 사용
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("CardSync-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "cacheRefreshExecutor")
+    public Executor cacheRefreshExecutor() {
+        // 캐시 조기 갱신은 best-effort 이므로 큐가 차면 버리고 만료 후 동기 조회에 맡김
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(100);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setThreadNamePrefix("CacheRefresh-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "cardImportExecutor")
+    public Executor cardImportExecutor() {
+        // 카드 대량 등록 시 카드사 검증 호출용. 큐가 차면 요청 스레드가 직접 처리해 제출 속도를 늦춤
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(100);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("CardImport-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,31 +1,108 @@
 package com.company.receipt.config;
 
-import org.springframework.cache.CacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
     
+    private static final Duration DEFAULT_REMOTE_TTL = Duration.ofMinutes(30);
+    
+    // 캐시별 L2(Redis) TTL
+    private static final Map<String, Duration> REMOTE_TTLS = Map.of(
+        "userCards", Duration.ofMinutes(30),
+        "cardStatistics", Duration.ofMinutes(10),
+        "erpLedgers", Duration.ofMinutes(5)
+    );
+    
+    // 캐시별 L1 TTL (L2 보다 짧게 두어 pub/sub 누락 시에도 노드 간 차이가 오래 남지 않도록 함)
+    private static final Map<String, Duration> LOCAL_TTLS = Map.of(
+        "userCards", Duration.ofMinutes(5),
+        "cardStatistics", Duration.ofMinutes(2),
+        "erpLedgers", Duration.ofMinutes(1)
+    );
+    
+    @Value("${receipt.cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+    
+    @Value("${receipt.cache.local.default-ttl-seconds:60}")
+    private long localDefaultTtlSeconds;
+    
+    // compact: Smile + 압축 (기존 JSON 항목도 읽음), json: 기존 JSON 직렬화
+    @Value("${receipt.cache.serializer:compact}")
+    private String serializerType;
+    
+    @Value("${receipt.cache.compression-threshold-bytes:1024}")
+    private int compressionThresholdBytes;
+    
+    // XFetch 조기 갱신 강도 (클수록 만료 전에 더 일찍 갱신, 0 이면 조기 갱신 없음)
+    @Value("${receipt.cache.early-refresh-beta:1.0}")
+    private double earlyRefreshBeta;
+    
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                            StringRedisTemplate stringRedisTemplate,
+                                            NodeIdentity nodeIdentity,
+                                            Executor cacheRefreshExecutor,
+                                            MeterRegistry meterRegistry) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-            .entryTtl(Duration.ofMinutes(30))
+            .entryTtl(DEFAULT_REMOTE_TTL)
             .serializeValuesWith(RedisSerializationContext.SerializationPair
-                .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                .fromSerializer(cacheValueSerializer()));
         
-        return RedisCacheManager.builder(connectionFactory)
+        Map<String, RedisCacheConfiguration> perCache = new HashMap<>();
+        REMOTE_TTLS.forEach((name, ttl) -> perCache.put(name, config.entryTtl(ttl)));
+        
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
             .cacheDefaults(config)
+            .withInitialCacheConfigurations(perCache)
             .build();
+        redisCacheManager.initializeCaches();
+        
+        return new TwoTierCacheManager(redisCacheManager, 
+            stringRedisTemplate, 
+            nodeIdentity.getNodeId(),
+            localMaximumSize, 
+            Duration.ofSeconds(localDefaultTtlSeconds), 
+            LOCAL_TTLS,
+            DEFAULT_REMOTE_TTL,
+            REMOTE_TTLS,
+            earlyRefreshBeta,
+            cacheRefreshExecutor,
+            meterRegistry);
+    }
+    
+    private RedisSerializer<Object> cacheValueSerializer() {
+        if ("json".equalsIgnoreCase(serializerType)) {
+            return new GenericJackson2JsonRedisSerializer();
+        }
+        return new CompactRedisSerializer(compressionThresholdBytes);
+    }
+    
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TwoTierCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoTierCacheManager.INVALIDATION_CHANNEL));
+        return container;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package com.company.receipt.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 캐시 저장 값 + 적재 메타데이터 (조기 갱신 판단용)
+ * writtenAt 이 0 이면 메타데이터가 없는 이전 형식 항목이다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheEnvelope {
+    
+    private Object value;
+    
+    private long writtenAt; // epoch millis
+    
+    private long loadMillis; // 원본 조회 소요 시간
+    
+    static CacheEnvelope wrap(Object stored) {
+        if (stored instanceof CacheEnvelope) {
+            return (CacheEnvelope) stored;
+        }
+        return new CacheEnvelope(stored, 0L, 0L);
+    }
+}
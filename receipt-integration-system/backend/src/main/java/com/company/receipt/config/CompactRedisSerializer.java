@@ -0,0 +1,128 @@
+package com.company.receipt.config;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Redis 캐시 값 직렬화 (Smile 바이너리 JSON + 임계값 이상 Deflate 압축)
+ * 첫 바이트로 형식을 구분한다: 0xC1 = Smile, 0xC2 = Deflate 압축된 Smile.
+ * 기존 JSON 항목은 항상 '{', '[', '"' 등 ASCII 문자로 시작하므로 (GenericJackson2JsonRedisSerializer 출력)
+ * 0x80 이상인 두 값과 겹치지 않는다. 그 외의 값은 기존 JSON 항목으로 보고 JSON 직렬화기로 읽는다.
+ * (0xC2 는 UTF-8 선행 바이트로 유효하므로 임의의 UTF-8 문자열과 구분된다는 보장은 아님)
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+    
+    private static final byte FORMAT_SMILE = (byte) 0xC1;
+    private static final byte FORMAT_DEFLATE = (byte) 0xC2;
+    
+    private final ObjectMapper smileMapper;
+    private final GenericJackson2JsonRedisSerializer legacySerializer = new GenericJackson2JsonRedisSerializer();
+    private final int compressionThreshold;
+    
+    public CompactRedisSerializer(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+        
+        // 타입 정보는 기존 JSON 직렬화기와 동일한 방식(@class 속성)으로 기록
+        this.smileMapper = new ObjectMapper(new SmileFactory());
+        this.smileMapper.findAndRegisterModules();
+        this.smileMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, 
+            ObjectMapper.DefaultTyping.EVERYTHING, JsonTypeInfo.As.PROPERTY);
+        GenericJackson2JsonRedisSerializer.registerNullValueSerializer(smileMapper, null);
+    }
+    
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        
+        byte[] smile;
+        try {
+            smile = smileMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new SerializationException("Could not write Smile: " + e.getMessage(), e);
+        }
+        
+        return smile.length >= compressionThreshold 
+            ? withFormat(FORMAT_DEFLATE, deflate(smile)) 
+            : withFormat(FORMAT_SMILE, smile);
+    }
+    
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        
+        try {
+            switch (bytes[0]) {
+                case FORMAT_SMILE:
+                    return smileMapper.readValue(bytes, 1, bytes.length - 1, Object.class);
+                case FORMAT_DEFLATE:
+                    return smileMapper.readValue(inflate(bytes, 1, bytes.length - 1), Object.class);
+                default:
+                    // 전환 전에 저장된 JSON 항목
+                    return legacySerializer.deserialize(bytes);
+            }
+        } catch (SerializationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SerializationException("Could not read cache value: " + e.getMessage(), e);
+        }
+    }
+    
+    private static byte[] withFormat(byte format, byte[] payload) {
+        byte[] result = new byte[payload.length + 1];
+        result[0] = format;
+        System.arraycopy(payload, 0, result, 1, payload.length);
+        return result;
+    }
+    
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    private static byte[] inflate(byte[] input, int offset, int length) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input, offset, length);
+            
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated compressed cache value");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.company.receipt.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate JDBC 배치 설정
+ * IDENTITY 가 아닌 풀링 ID 를 쓰는 엔티티는 INSERT 를 테이블별로 묶어 전송한다.
+ * MySQL 드라이버에서 실제 다중 행 INSERT 로 보내려면 JDBC URL 에 rewriteBatchedStatements=true 가 필요하다.
+ */
+@Configuration
+public class JpaConfig {
+    
+    @Value("${receipt.jpa.batch-size:100}")
+    private int batchSize;
+    
+    @Bean
+    public HibernatePropertiesCustomizer batchingPropertiesCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+            properties.put(AvailableSettings.BATCH_VERSIONED_DATA, true);
+            // 지연 로딩 연관/컬렉션을 IN 절로 묶어 초기화 (목록 화면 N+1 완화)
+            properties.put(AvailableSettings.DEFAULT_BATCH_FETCH_SIZE, batchSize);
+        };
+    }
+}
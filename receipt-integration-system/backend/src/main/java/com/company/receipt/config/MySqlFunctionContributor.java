@@ -0,0 +1,25 @@
+package com.company.receipt.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * MySQL 전용 SQL 함수 등록 (META-INF/services 로 로딩)
+ * merchant_match(컬럼, 검색식) -> MATCH(컬럼) AGAINST(검색식 IN BOOLEAN MODE)
+ */
+public class MySqlFunctionContributor implements FunctionContributor {
+    
+    public static final String MERCHANT_MATCH = "merchant_match";
+    
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+            MERCHANT_MATCH,
+            "match(?1) against(?2 in boolean mode)",
+            functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.DOUBLE)
+        );
+    }
+}
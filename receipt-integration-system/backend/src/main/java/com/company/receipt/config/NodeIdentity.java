@@ -0,0 +1,41 @@
+package com.company.receipt.config;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+
+/**
+ * 클러스터 내 노드 식별자
+ * 작업 큐와 동기화 샤드의 소유 노드를 기록할 때 사용한다.
+ */
+@Component
+@Getter
+public class NodeIdentity {
+    
+    @Value("${receipt.node-id:}")
+    private String configuredNodeId;
+    
+    private String nodeId;
+    
+    @PostConstruct
+    public void init() {
+        if (StringUtils.hasText(configuredNodeId)) {
+            nodeId = configuredNodeId;
+            return;
+        }
+        
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        nodeId = host + "-" + ManagementFactory.getRuntimeMXBean().getPid();
+    }
+}
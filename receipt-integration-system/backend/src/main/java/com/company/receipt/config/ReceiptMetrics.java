@@ -0,0 +1,146 @@
+package com.company.receipt.config;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동기화/카드사·ERP 호출/매칭 지표
+ * 이름과 히스토그램 설정을 한곳에 모아 SLO 와 대시보드가 같은 기준을 보도록 한다.
+ * 지연 시간은 히스토그램 버킷을 내보내므로 Prometheus 에서 histogram_quantile 로 백분위를 구한다.
+ * 태그는 카드사/작업 종류처럼 값이 제한된 것만 사용한다 (카드 ID 등은 태그로 쓰지 않음).
+ * 스레드 풀 큐 길이는 Spring Boot 가 ThreadPoolTaskExecutor 빈마다 executor.* (name=빈 이름) 으로 내보낸다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReceiptMetrics {
+
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_ERROR = "error";
+
+    private final MeterRegistry registry;
+
+    public Timer.Sample startTimer() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * 카드 1건 동기화 소요 시간과 수집 거래 수
+     */
+    public void recordSync(Timer.Sample sample, String provider, boolean success, int transactions) {
+        sample.stop(Timer.builder("receipt.sync.duration")
+            .description("Card sync duration per card")
+            .tag("provider", provider)
+            .tag("outcome", success ? OUTCOME_SUCCESS : OUTCOME_ERROR)
+            .publishPercentileHistogram()
+            .register(registry));
+
+        if (success) {
+            DistributionSummary.builder("receipt.sync.transactions")
+                .description("Transactions fetched per card sync")
+                .tag("provider", provider)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(transactions);
+        }
+    }
+
+    /**
+     * 저장 전 중복 제거 결과 (hit 비율 = duplicate / 전체)
+     */
+    public void recordDedup(String provider, int duplicates, int inserted) {
+        dedupCounter(provider, "duplicate").increment(duplicates);
+        dedupCounter(provider, "new").increment(inserted);
+    }
+
+    /**
+     * 카드사 API 호출 지연/오류
+     */
+    public void recordProviderCall(Timer.Sample sample, String provider, String operation, boolean success) {
+        sample.stop(providerTimer(provider, operation, success));
+    }
+    
+    /**
+     * 카드사 API 호출 지연/오류 (직접 측정한 시간, 스트리밍처럼 호출 측 처리 시간을 빼야 하는 경우)
+     */
+    public void recordProviderCall(String provider, String operation, boolean success, long durationNanos) {
+        providerTimer(provider, operation, success).record(Math.max(0, durationNanos), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * ERP API 호출 지연/오류
+     */
+    public void recordErpCall(Timer.Sample sample, String operation, boolean success) {
+        sample.stop(Timer.builder("receipt.erp.requests")
+            .description("ERP API call latency")
+            .tag("operation", operation)
+            .tag("outcome", success ? OUTCOME_SUCCESS : OUTCOME_ERROR)
+            .publishPercentileHistogram()
+            .register(registry));
+    }
+
+    /**
+     * 영수증 1건의 매칭 후보 평가 결과
+     * pruned 는 최소 점수 미달로 제외된 후보 수, bestScore 는 제외 여부와 관계없는 최고 점수 (0~100)
+     */
+    public void recordMatchEvaluation(int candidates, int pruned, double bestScore, boolean matched) {
+        DistributionSummary.builder("receipt.matching.candidates")
+            .description("Ledger candidates evaluated per receipt")
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(candidates);
+
+        Counter.builder("receipt.matching.candidates.pruned")
+            .description("Candidates dropped below the minimum confidence score")
+            .register(registry)
+            .increment(pruned);
+
+        DistributionSummary.builder("receipt.matching.best.score")
+            .description("Best confidence score per receipt")
+            .serviceLevelObjectives(50, 60, 70, 80, 90, 95)
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue(100.0)
+            .register(registry)
+            .record(bestScore);
+
+        Counter.builder("receipt.matching.receipts")
+            .description("Receipts evaluated by the matching engine")
+            .tag("result", matched ? "matched" : "unmatched")
+            .register(registry)
+            .increment();
+    }
+
+    /**
+     * 자동 매칭 1회 실행 시간
+     */
+    public void recordAutoMatch(Timer.Sample sample, String status) {
+        sample.stop(Timer.builder("receipt.matching.auto.duration")
+            .description("Auto-match run duration")
+            .tag("status", status)
+            .register(registry));
+    }
+
+    private Timer providerTimer(String provider, String operation, boolean success) {
+        return Timer.builder("receipt.provider.requests")
+            .description("Card provider API call latency")
+            .tag("provider", provider)
+            .tag("operation", operation)
+            .tag("outcome", success ? OUTCOME_SUCCESS : OUTCOME_ERROR)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+    
+    private Counter dedupCounter(String provider, String result) {
+        return Counter.builder("receipt.sync.dedup")
+            .description("Fetched transactions by dedup result")
+            .tag("provider", provider)
+            .tag("result", result)
+            .register(registry);
+    }
+}
@@ -3,6 +3,7 @@ package com.company.receipt.config;
 import com.company.receipt.security.JwtAuthenticationFilter;
 import com.company.receipt.security.JwtAuthenticationProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -25,6 +26,9 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationProvider jwtAuthenticationProvider;
 
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -35,6 +39,12 @@ public class SecurityConfig {
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/api/auth/**", "/api/health").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                .requestMatchers("/api/webhooks/**").permitAll() // HMAC 서명으로 별도 인증
+                .requestMatchers("/actuator/health").permitAll()
+                // 지표는 외부에 공개하지 않는 관리 포트로 들어온 요청만 허용 (관리 포트 미설정 시 인증 필요)
+                .requestMatchers(request -> managementPort > 0 
+                    && request.getLocalPort() == managementPort 
+                    && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,267 @@
+package com.company.receipt.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 2단계 캐시 (L1: 프로세스 내 Caffeine, L2: Redis)
+ * 조회는 L1 -> L2 순으로 하고 L2 적중 값은 L1 에 채운다.
+ * 변경(put/evict/clear)은 L2 에 먼저 반영한 뒤 다른 노드의 L1 무효화를 발행한다.
+ * L1 키는 RedisCache 와 같은 문자열 변환 결과를 사용해 노드 간 무효화 메시지로 그대로 식별한다.
+ * 
+ * get(key, loader) (@Cacheable(sync = true)) 경로는
+ * - 같은 키의 동시 미스를 노드당 한 번의 조회로 합치고 (single-flight)
+ * - 만료 전에 확률적으로 백그라운드 갱신을 시작하며 (XFetch), 갱신 중에는 기존 값을 그대로 반환한다.
+ * - 조회 결과가 null 이면 (외부 API 실패 등) 저장하지 않고 다음 요청에서 다시 조회한다.
+ * 
+ * 조회 결과는 cache.gets (cache, result=hit|miss, tier=local|remote|none) 로 집계한다.
+ */
+@Slf4j
+public class TwoTierCache extends AbstractValueAdaptingCache {
+    
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, CacheEnvelope> local;
+    private final Cache remote;
+    private final Duration remoteTtl;
+    private final double earlyRefreshBeta;
+    private final Executor refreshExecutor;
+    private final BiConsumer<String, String> invalidationPublisher;
+    private final Counter localHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+    
+    private final Map<String, CompletableFuture<CacheEnvelope>> inFlight = new ConcurrentHashMap<>();
+    
+    public TwoTierCache(String name, 
+                        com.github.benmanes.caffeine.cache.Cache<String, CacheEnvelope> local,
+                        Cache remote,
+                        Duration remoteTtl,
+                        double earlyRefreshBeta,
+                        Executor refreshExecutor,
+                        BiConsumer<String, String> invalidationPublisher,
+                        MeterRegistry meterRegistry) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.remoteTtl = remoteTtl;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.refreshExecutor = refreshExecutor;
+        this.invalidationPublisher = invalidationPublisher;
+        this.localHits = getsCounter(meterRegistry, name, "hit", "local");
+        this.remoteHits = getsCounter(meterRegistry, name, "hit", "remote");
+        this.misses = getsCounter(meterRegistry, name, "miss", "none");
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+    
+    @Override
+    protected Object lookup(Object key) {
+        CacheEnvelope entry = lookupEntry(key);
+        return entry != null ? entry.getValue() : null;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CacheEnvelope entry = lookupEntry(key);
+        if (entry != null) {
+            if (shouldRefreshEarly(entry)) {
+                refreshAsync(key, valueLoader);
+            }
+            return (T) fromStoreValue(entry.getValue());
+        }
+        
+        return (T) fromStoreValue(load(key, valueLoader).getValue());
+    }
+    
+    @Override
+    public void put(Object key, Object value) {
+        write(key, new CacheEnvelope(toStoreValue(value), System.currentTimeMillis(), 0L));
+    }
+    
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, 
+            new CacheEnvelope(toStoreValue(value), System.currentTimeMillis(), 0L));
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        invalidationPublisher.accept(name, localKey);
+        
+        return existing != null 
+            ? toValueWrapper(CacheEnvelope.wrap(existing.get()).getValue()) 
+            : null;
+    }
+    
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        invalidationPublisher.accept(name, localKey);
+    }
+    
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationPublisher.accept(name, null);
+    }
+    
+    /**
+     * 다른 노드에서 발행한 무효화 반영 (L1 만 제거)
+     */
+    void evictLocal(String localKey) {
+        if (localKey == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(localKey);
+        }
+    }
+    
+    static com.github.benmanes.caffeine.cache.Cache<String, CacheEnvelope> newLocalCache(long maximumSize, 
+                                                                                         Duration ttl) {
+        return Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .build();
+    }
+    
+    private CacheEnvelope lookupEntry(Object key) {
+        String localKey = localKey(key);
+        CacheEnvelope entry = local.getIfPresent(localKey);
+        if (entry != null) {
+            localHits.increment();
+            return entry;
+        }
+        
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null) {
+            misses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        
+        // 이전 형식(봉투 없이 값만 저장된) 항목은 메타데이터 없이 감싼다
+        entry = wrapper.get() instanceof CacheEnvelope 
+            ? (CacheEnvelope) wrapper.get() 
+            : CacheEnvelope.wrap(toStoreValue(wrapper.get()));
+        local.put(localKey, entry);
+        return entry;
+    }
+    
+    /**
+     * 같은 키를 이미 조회 중이면 그 결과를 기다리고, 아니면 직접 조회해 두 계층에 저장한다.
+     */
+    private <T> CacheEnvelope load(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        CompletableFuture<CacheEnvelope> flight = new CompletableFuture<>();
+        CompletableFuture<CacheEnvelope> running = inFlight.putIfAbsent(localKey, flight);
+        
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+        
+        try {
+            long start = System.nanoTime();
+            T value = valueLoader.call();
+            CacheEnvelope entry = new CacheEnvelope(toStoreValue(value), 
+                System.currentTimeMillis(), 
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+            
+            if (value != null) {
+                write(key, entry);
+            }
+            flight.complete(entry);
+            return entry;
+            
+        } catch (Exception e) {
+            flight.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlight.remove(localKey, flight);
+        }
+    }
+    
+    private <T> void refreshAsync(Object key, Callable<T> valueLoader) {
+        if (inFlight.containsKey(localKey(key))) {
+            return;
+        }
+        
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, valueLoader);
+                } catch (Exception e) {
+                    // 갱신 실패 시 기존 값을 계속 사용하고 만료 후 동기 조회에서 다시 시도
+                    log.warn("Background cache refresh failed: {} {}", name, key, e);
+                }
+            });
+        } catch (Exception e) {
+            log.debug("Cache refresh rejected: {} {}", name, key);
+        }
+    }
+    
+    /**
+     * XFetch: 조회 비용(loadMillis)이 클수록, 만료에 가까울수록 높은 확률로 미리 갱신한다.
+     * L2 가 만료된 뒤에도 L1 에 남은 값은 갱신이 끝날 때까지 그대로 제공된다.
+     */
+    private boolean shouldRefreshEarly(CacheEnvelope entry) {
+        if (entry.getWrittenAt() <= 0) {
+            return false;
+        }
+        
+        long expiresAt = entry.getWrittenAt() + remoteTtl.toMillis();
+        double delta = Math.max(entry.getLoadMillis(), 1L);
+        double gap = -delta * earlyRefreshBeta * Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        
+        return System.currentTimeMillis() + gap >= expiresAt;
+    }
+    
+    private void write(Object key, CacheEnvelope entry) {
+        remote.put(key, entry);
+        String localKey = localKey(key);
+        local.put(localKey, entry);
+        invalidationPublisher.accept(name, localKey);
+    }
+    
+    private static Counter getsCounter(MeterRegistry registry, String cacheName, String result, String tier) {
+        return Counter.builder("cache.gets")
+            .tag("cache", cacheName)
+            .tag("result", result)
+            .tag("tier", tier)
+            .register(registry);
+    }
+    
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,116 @@
+package com.company.receipt.config;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * L1(Caffeine) + L2(Redis) 캐시 매니저
+ * 캐시별 L1/L2 TTL 을 지정할 수 있고, 지정하지 않은 캐시는 기본 TTL 을 사용한다.
+ * 무효화 메시지 형식: 노드ID \t 캐시명 \t 키 (키가 비어 있으면 캐시 전체 무효화)
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+    
+    public static final String INVALIDATION_CHANNEL = "receipt:cache:invalidate";
+    
+    private static final String FIELD_SEPARATOR = "\t";
+    
+    private final CacheManager remoteCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId;
+    private final long localMaximumSize;
+    private final Duration defaultLocalTtl;
+    private final Map<String, Duration> localTtls;
+    private final Duration defaultRemoteTtl;
+    private final Map<String, Duration> remoteTtls;
+    private final double earlyRefreshBeta;
+    private final Executor refreshExecutor;
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    
+    public TwoTierCacheManager(CacheManager remoteCacheManager, 
+                               StringRedisTemplate redisTemplate,
+                               String nodeId,
+                               long localMaximumSize,
+                               Duration defaultLocalTtl,
+                               Map<String, Duration> localTtls,
+                               Duration defaultRemoteTtl,
+                               Map<String, Duration> remoteTtls,
+                               double earlyRefreshBeta,
+                               Executor refreshExecutor,
+                               MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.nodeId = nodeId;
+        this.localMaximumSize = localMaximumSize;
+        this.defaultLocalTtl = defaultLocalTtl;
+        this.localTtls = localTtls;
+        this.defaultRemoteTtl = defaultRemoteTtl;
+        this.remoteTtls = remoteTtls;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.refreshExecutor = refreshExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+    
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+    
+    private TwoTierCache createCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        Duration ttl = localTtls.getOrDefault(name, defaultLocalTtl);
+        
+        return new TwoTierCache(name, 
+            TwoTierCache.newLocalCache(localMaximumSize, ttl), 
+            remote, 
+            remoteTtls.getOrDefault(name, defaultRemoteTtl),
+            earlyRefreshBeta,
+            refreshExecutor,
+            this::publishInvalidation,
+            meterRegistry);
+    }
+    
+    private void publishInvalidation(String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, 
+                String.join(FIELD_SEPARATOR, nodeId, cacheName, key != null ? key : ""));
+        } catch (Exception e) {
+            // 발행 실패 시 다른 노드는 L1 TTL 만료까지 이전 값을 볼 수 있음
+            log.warn("Failed to publish cache invalidation: {} {}", cacheName, key, e);
+        }
+    }
+    
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] fields = new String(message.getBody(), StandardCharsets.UTF_8).split(FIELD_SEPARATOR, 3);
+        if (fields.length != 3 || nodeId.equals(fields[0])) {
+            return;
+        }
+        
+        TwoTierCache cache = caches.get(fields[1]);
+        if (cache != null) {
+            cache.evictLocal(fields[2].isEmpty() ? null : fields[2]);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.company.receipt.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.company.receipt.dto.CardImportResultDto;
+import com.company.receipt.dto.CardRegistrationDto;
+import com.company.receipt.service.CardService;
+import com.company.receipt.util.CardImportCsvReader;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cards")
+@RequiredArgsConstructor
+@Tag(name = "Card Management", description = "카드 관리 API")
+public class CardController {
+
+    private final CardService cardService;
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "카드 대량 등록", description = "카드 목록을 한 번에 등록하고 행별 처리 결과를 반환합니다.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CardImportResultDto> importCards(
+            @RequestParam Long userId,
+            @RequestBody List<CardRegistrationDto> cards) {
+
+        CardImportResultDto result = cardService.importCards(userId, cards);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "카드 대량 등록 (CSV)", description = "UTF-8 CSV 파일(헤더 포함)로 카드를 등록하고 행별 처리 결과를 반환합니다.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CardImportResultDto> importCardsCsv(
+            @RequestParam Long userId,
+            @RequestParam("file") MultipartFile file) throws IOException {
+
+        List<CardRegistrationDto> cards;
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            cards = CardImportCsvReader.read(reader);
+        }
+
+        CardImportResultDto result = cardService.importCards(userId, cards);
+        return ResponseEntity.ok(result);
+    }
+}
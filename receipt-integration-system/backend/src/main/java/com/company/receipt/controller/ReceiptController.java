@@ -3,6 +3,11 @@ package com.company.receipt.controller;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -10,12 +15,18 @@ import org.springframework.web.bind.annotation.*;
 import com.company.receipt.dto.*;
 import com.company.receipt.service.ReceiptMatchingService;
 import com.company.receipt.service.ReceiptService;
+import com.company.receipt.storage.DocumentStore;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/receipts")
 @RequiredArgsConstructor
@@ -24,6 +35,7 @@ public class ReceiptController {
     
     private final ReceiptService receiptService;
     private final ReceiptMatchingService matchingService;
+    private final DocumentStore documentStore;
     
     @GetMapping
     @Operation(summary = "영수증 목록 조회", description = "조건에 따른 영수증 목록을 조회합니다.")
@@ -35,6 +47,18 @@ public class ReceiptController {
         return ResponseEntity.ok(receipts);
     }
     
+    @GetMapping("/cursor")
+    @Operation(summary = "영수증 목록 커서 조회", description = "이전 응답의 nextCursor 로 다음 페이지를 조회합니다. 깊은 페이지도 첫 페이지와 같은 비용으로 조회됩니다.")
+    public ResponseEntity<ReceiptCursorPageDto> getReceiptsByCursor(
+            @Valid ReceiptSearchDto searchDto,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeCount) {
+        
+        ReceiptCursorPageDto receipts = receiptService.searchReceiptsByCursor(searchDto, cursor, size, includeCount);
+        return ResponseEntity.ok(receipts);
+    }
+    
     @GetMapping("/{receiptId}")
     @Operation(summary = "영수증 상세 조회", description = "특정 영수증의 상세 정보를 조회합니다.")
     public ResponseEntity<ReceiptDetailDto> getReceiptDetail(@PathVariable Long receiptId) {
@@ -72,14 +96,46 @@ public class ReceiptController {
     }
     
     @GetMapping("/{receiptId}/download")
-    @Operation(summary = "영수증 다운로드", description = "영수증 원본을 다운로드합니다.")
-    public ResponseEntity<byte[]> downloadReceipt(@PathVariable Long receiptId) {
-        byte[] receiptData = receiptService.downloadReceipt(receiptId);
+    @Operation(summary = "영수증 다운로드", description = "영수증 원본을 다운로드합니다. Range 요청을 지원합니다.")
+    public void downloadReceipt(
+            @PathVariable Long receiptId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+            HttpServletResponse response) throws IOException {
         
-        return ResponseEntity.ok()
-            .header("Content-Type", "application/pdf")
-            .header("Content-Disposition", "attachment; filename=receipt_" + receiptId + ".pdf")
-            .body(receiptData);
+        String location = receiptService.getReceiptDocumentLocation(receiptId);
+        long length = documentStore.size(location);
+        long start = 0;
+        long end = length - 1;
+        
+        if (rangeHeader != null) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // 다중 범위 요청은 전체 문서로 응답
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+        }
+        
+        String fileName = location.substring(location.lastIndexOf('/') + 1);
+        MediaType contentType = MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_PDF);
+        String extension = fileName.contains(".") ? fileName.substring(fileName.lastIndexOf('.')) : ".pdf";
+        
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(contentType.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, 
+            "attachment; filename=receipt_" + receiptId + extension);
+        response.setContentLengthLong(end - start + 1);
+        
+        documentStore.transferTo(location, start, end - start + 1, 
+            Channels.newChannel(response.getOutputStream()));
     }
     
     @PostMapping("/export")
@@ -0,0 +1,34 @@
+package com.company.receipt.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.company.receipt.service.RealtimeIngestionService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/webhooks")
+@RequiredArgsConstructor
+@Tag(name = "Provider Webhook", description = "카드사 거래 푸시 수신 API")
+public class WebhookController {
+    
+    private final RealtimeIngestionService ingestionService;
+    
+    @PostMapping("/{cardCompany}/transactions")
+    @Operation(summary = "거래 푸시 수신", description = "카드사가 전송한 승인/취소 이벤트를 접수합니다. 저장은 비동기로 처리됩니다.")
+    public ResponseEntity<Map<String, Object>> receiveTransactions(
+            @PathVariable String cardCompany,
+            @RequestHeader(value = "X-Webhook-Signature", required = false) String signature,
+            @RequestHeader(value = "X-Webhook-Timestamp", required = false) String timestamp,
+            @RequestBody String body) {
+        
+        // 서명 검증을 위해 원문 그대로 받는다
+        int accepted = ingestionService.accept(cardCompany, body, signature, timestamp);
+        return ResponseEntity.accepted().body(Map.of("accepted", accepted));
+    }
+}
@@ -17,7 +17,15 @@ import java.time.LocalDateTime;
 public class CardInfo {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "cardIdGenerator")
+    @TableGenerator(
+        name = "cardIdGenerator",
+        table = "id_sequences",
+        pkColumnName = "sequence_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "card_info",
+        allocationSize = 100
+    )
     @Column(name = "card_id")
     private Long cardId;
     
@@ -36,6 +44,7 @@ public class CardInfo {
     
     @Enumerated(EnumType.STRING)
     @Column(name = "card_type", nullable = false)
+    @Builder.Default
     private CardType cardType = CardType.CORPORATE;
     
     @Column(name = "auth_type", length = 50)
@@ -44,16 +53,35 @@ public class CardInfo {
     @Column(name = "auth_credentials", columnDefinition = "TEXT")
     private String authCredentials; // 암호화된 인증 정보
     
+    @Column(name = "credentials_version", nullable = false)
+    @Builder.Default
+    private Integer credentialsVersion = 0; // 인증 정보 변경 시 증가 (복호화 캐시 무효화용)
+    
     @Column(name = "last_sync_date")
     private LocalDateTime lastSyncDate;
     
+    @Column(name = "sync_watermark")
+    private LocalDateTime syncWatermark; // 커밋 완료된 최신 거래 일시 (동기화 재개 지점)
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "sync_status")
     private SyncStatus syncStatus;
     
     @Column(name = "is_active")
+    @Builder.Default
     private Boolean isActive = true;
     
+    @Column(name = "recent_tx_rate", nullable = false)
+    @Builder.Default
+    private Double recentTxRate = 0.0; // 최근 일평균 거래 건수 (지수 이동 평균)
+    
+    @Column(name = "consecutive_failures", nullable = false)
+    @Builder.Default
+    private Integer consecutiveFailures = 0;
+    
+    @Column(name = "next_sync_at")
+    private LocalDateTime nextSyncAt; // 다음 동기화 예정 일시 (null 이면 즉시 대상)
+    
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
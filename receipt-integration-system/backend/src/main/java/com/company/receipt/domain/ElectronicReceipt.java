@@ -26,7 +26,15 @@ import lombok.*;
 public class ElectronicReceipt {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "receiptIdGenerator")
+    @TableGenerator(
+        name = "receiptIdGenerator",
+        table = "id_sequences",
+        pkColumnName = "sequence_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "electronic_receipts",
+        allocationSize = 100
+    )
     @Column(name = "receipt_id")
     private Long receiptId;
     
@@ -66,6 +74,12 @@ public class ElectronicReceipt {
     @Column(name = "verification_method", length = 50)
     private String verificationMethod;
     
+    // 매칭 상태 (accounting_matches 기준으로 ReceiptMatchingService 가 갱신, 엔티티 저장 시에는 덮어쓰지 않음)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "match_status", nullable = false, updatable = false)
+    @Builder.Default
+    private MatchState matchState = MatchState.UNMATCHED;
+    
     @ElementCollection
     @CollectionTable(
         name = "receipt_items",
@@ -113,6 +127,10 @@ public class ElectronicReceipt {
         private String itemCategory;
     }
     
+    public enum MatchState {
+        UNMATCHED, PARTIAL, MATCHED
+    }
+    
     public enum ReceiptType {
         CARD_SLIP("카드전표"),
         TAX_INVOICE("세금계산서"),
@@ -0,0 +1,65 @@
+package com.company.receipt.domain;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 웹훅으로 접수한 거래 이벤트 (저장 전 대기)
+ * 응답 전에 기록되므로 노드가 재시작돼도 유실되지 않으며, 반영이 끝난 행은 삭제된다.
+ */
+@Entity
+@Table(name = "pushed_transaction_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PushedTransactionEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_seq")
+    private Long eventSeq;
+    
+    @Column(name = "card_company", nullable = false, length = 50)
+    private String cardCompany;
+    
+    @Column(name = "event_id", nullable = false, length = 100)
+    private String eventId;
+    
+    @Column(name = "payload", nullable = false, columnDefinition = "JSON")
+    private String payload; // ProviderWebhookDto.TransactionEvent JSON
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private EventStatus status = EventStatus.PENDING;
+    
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+    
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    public enum EventStatus {
+        PENDING, IN_PROGRESS, FAILED
+    }
+}
@@ -0,0 +1,68 @@
+package com.company.receipt.domain;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "sync_shards")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncShard {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "shard_id")
+    private Long shardId;
+    
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+    
+    @Column(name = "shard_no", nullable = false)
+    private Integer shardNo;
+    
+    @Column(name = "from_card_id", nullable = false)
+    private Long fromCardId;
+    
+    @Column(name = "to_card_id", nullable = false)
+    private Long toCardId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private ShardStatus status = ShardStatus.PENDING;
+    
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+    
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+    
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+    
+    @Column(name = "failed_cards", nullable = false)
+    @Builder.Default
+    private Integer failedCards = 0;
+    
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum ShardStatus {
+        PENDING, IN_PROGRESS, COMPLETED
+    }
+}
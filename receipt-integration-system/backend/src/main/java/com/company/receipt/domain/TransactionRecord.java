@@ -21,7 +21,15 @@ import lombok.*;
 public class TransactionRecord {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "transactionIdGenerator")
+    @TableGenerator(
+        name = "transactionIdGenerator",
+        table = "id_sequences",
+        pkColumnName = "sequence_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "transaction_records",
+        allocationSize = 100
+    )
     @Column(name = "transaction_id")
     private Long transactionId;
     
@@ -0,0 +1,24 @@
+package com.company.receipt.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스케줄러용 활성 카드 요약 (동기화에 필요한 최소 필드)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActiveCardSyncDto {
+    
+    private Long cardId;
+    
+    private String cardCompany;
+    
+    private LocalDateTime lastSyncDate;
+    
+    private LocalDateTime syncWatermark;
+    
+    private LocalDateTime nextSyncAt;
+}
@@ -0,0 +1,44 @@
+package com.company.receipt.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// CardImportResultDto.java
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CardImportResultDto {
+
+    private Integer totalRows;
+    private Integer registeredCount;
+    private Integer failedCount;
+    private Long processingTimeMillis;
+
+    // 행별 결과 (입력 순서)
+    @Builder.Default
+    private List<RowResult> rows = new ArrayList<>();
+
+    public enum RowStatus {
+        REGISTERED,     // 등록 완료
+        INVALID,        // 입력값/카드번호 검증 실패
+        DUPLICATE,      // 이미 등록됐거나 파일 안에서 중복
+        REJECTED,       // 카드사 검증 거부
+        RATE_LIMITED,   // 카드사 호출 한도로 이번 요청에서 처리하지 못함 (재요청 필요)
+        FAILED          // 처리 중 오류
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowResult {
+        private Integer rowNumber; // 1부터 시작
+        private String cardNumberMasked;
+        private RowStatus status;
+        private Long cardId;
+        private String message;
+    }
+}
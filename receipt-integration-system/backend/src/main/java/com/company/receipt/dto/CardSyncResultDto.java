@@ -0,0 +1,27 @@
+package com.company.receipt.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 카드 1건 동기화 결과 (조회 구간과 건수)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CardSyncResultDto {
+    
+    private Long cardId;
+    
+    // 카드사에서 받은 건수 (겹쳐 조회한 구간/재개 시 다시 받은 건 포함)
+    private Integer fetchedCount;
+    
+    // 새로 저장한 건수 (중복 제외)
+    private Integer insertedCount;
+    
+    private LocalDateTime fromDate;
+    
+    private LocalDateTime toDate;
+}
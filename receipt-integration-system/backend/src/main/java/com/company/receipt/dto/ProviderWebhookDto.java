@@ -0,0 +1,77 @@
+package com.company.receipt.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+// ProviderWebhookDto.java
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProviderWebhookDto {
+    
+    @NotEmpty(message = "이벤트 목록은 필수입니다")
+    @Size(max = 500, message = "한 번에 최대 500건까지 전송할 수 있습니다")
+    @Valid
+    private List<TransactionEvent> events;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TransactionEvent {
+        
+        @NotBlank(message = "이벤트 ID는 필수입니다")
+        @Size(max = 100)
+        private String eventId;
+        
+        @NotNull(message = "이벤트 유형은 필수입니다")
+        @Pattern(regexp = "^(APPROVED|CANCELLED)$", message = "지원하지 않는 이벤트 유형입니다")
+        private String eventType;
+        
+        @NotNull(message = "카드 ID는 필수입니다")
+        private Long cardId; // 푸시 구독 등록 시 카드사에 전달한 card_id
+        
+        @NotBlank(message = "승인번호는 필수입니다")
+        @Size(max = 50)
+        private String approvalNumber;
+        
+        @NotNull(message = "거래일시는 필수입니다")
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        private LocalDateTime transactionDateTime;
+        
+        @NotBlank(message = "가맹점명은 필수입니다")
+        @Size(max = 200)
+        private String merchantName;
+        
+        @Size(max = 20)
+        private String merchantBizNumber;
+        
+        @Size(max = 100)
+        private String merchantCategory;
+        
+        @NotNull(message = "거래금액은 필수입니다")
+        private BigDecimal amount;
+        
+        private BigDecimal vatAmount;
+        
+        private String currency;
+        
+        @Pattern(regexp = "^(CREDIT|CHECK)$", message = "지원하지 않는 결제 유형입니다")
+        private String paymentType;
+        
+        @Min(0)
+        private Integer installmentMonths;
+        
+        public boolean isCancellation() {
+            return "CANCELLED".equals(eventType);
+        }
+    }
+}
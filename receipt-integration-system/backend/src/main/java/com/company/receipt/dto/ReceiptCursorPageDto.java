@@ -0,0 +1,20 @@
+package com.company.receipt.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReceiptCursorPageDto {
+    
+    private List<ReceiptResponseDto> content;
+    
+    private String nextCursor; // 다음 페이지 조회용 토큰 (마지막 페이지면 null)
+    
+    private boolean hasNext;
+    
+    private Long totalCount; // includeCount 요청 시에만 채워짐
+}
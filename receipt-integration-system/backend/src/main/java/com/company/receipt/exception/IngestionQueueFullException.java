@@ -0,0 +1,8 @@
+// IngestionQueueFullException.java
+package com.company.receipt.exception;
+
+public class IngestionQueueFullException extends BaseException {
+    public IngestionQueueFullException(String message) {
+        super("INGESTION_QUEUE_FULL", message);
+    }
+}
@@ -0,0 +1,8 @@
+// InvalidWebhookSignatureException.java
+package com.company.receipt.exception;
+
+public class InvalidWebhookSignatureException extends BaseException {
+    public InvalidWebhookSignatureException(String message) {
+        super("INVALID_WEBHOOK_SIGNATURE", message);
+    }
+}
@@ -1,8 +1,11 @@
 package com.company.receipt.external;
 
+import com.company.receipt.config.ReceiptMetrics;
 import com.company.receipt.domain.CardInfo;
 import com.company.receipt.domain.TransactionRecord;
 import com.company.receipt.external.common.CardApiService;
+import com.company.receipt.storage.StoredDocument;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -12,6 +15,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,6 +26,7 @@ public class CardApiAggregatorService {
     
     private final List<CardApiService> cardApiServices;
     private final ExecutorService apiCallExecutor;
+    private final ReceiptMetrics metrics;
     
     public List<TransactionRecord> fetchTransactions(CardInfo cardInfo, 
                                                     LocalDateTime fromDate, 
@@ -31,14 +37,54 @@ public class CardApiAggregatorService {
             throw new RuntimeException("Unsupported card company: " + cardInfo.getCardCompany());
         }
         
+        Timer.Sample sample = metrics.startTimer();
         try {
-            return apiService.fetchTransactions(cardInfo, fromDate, toDate);
+            List<TransactionRecord> transactions = apiService.fetchTransactions(cardInfo, fromDate, toDate);
+            metrics.recordProviderCall(sample, apiService.getCardCompany(), "fetch", true);
+            return transactions;
         } catch (Exception e) {
+            metrics.recordProviderCall(sample, apiService.getCardCompany(), "fetch", false);
             log.error("Failed to fetch transactions for card: {}", cardInfo.getCardId(), e);
             throw new RuntimeException("Transaction fetch failed", e);
         }
     }
     
+    public int streamTransactions(CardInfo cardInfo,
+                                  LocalDateTime fromDate,
+                                  LocalDateTime toDate,
+                                  int batchSize,
+                                  Consumer<List<TransactionRecord>> batchConsumer) {
+        CardApiService apiService = getApiService(cardInfo.getCardCompany());
+        
+        if (apiService == null) {
+            throw new RuntimeException("Unsupported card company: " + cardInfo.getCardCompany());
+        }
+        
+        // 카드사 지연만 기록하도록 batchConsumer 의 배치 저장 시간은 전체 조회 시간에서 뺀다
+        AtomicLong consumerNanos = new AtomicLong();
+        Consumer<List<TransactionRecord>> timedConsumer = batch -> {
+            long consumeStarted = System.nanoTime();
+            try {
+                batchConsumer.accept(batch);
+            } finally {
+                consumerNanos.addAndGet(System.nanoTime() - consumeStarted);
+            }
+        };
+        
+        long started = System.nanoTime();
+        try {
+            int fetched = apiService.streamTransactions(cardInfo, fromDate, toDate, batchSize, timedConsumer);
+            metrics.recordProviderCall(apiService.getCardCompany(), "stream", true, 
+                System.nanoTime() - started - consumerNanos.get());
+            return fetched;
+        } catch (Exception e) {
+            metrics.recordProviderCall(apiService.getCardCompany(), "stream", false, 
+                System.nanoTime() - started - consumerNanos.get());
+            log.error("Failed to stream transactions for card: {}", cardInfo.getCardId(), e);
+            throw new RuntimeException("Transaction fetch failed", e);
+        }
+    }
+    
     public CompletableFuture<List<TransactionRecord>> fetchTransactionsAsync(
             CardInfo cardInfo, 
             LocalDateTime fromDate, 
@@ -82,7 +128,18 @@ public class CardApiAggregatorService {
         ).join();
     }
     
-    public String downloadReceiptDocument(TransactionRecord transaction) {
+    public String getReceiptDocumentId(TransactionRecord transaction) {
+        CardApiService apiService = getApiService(transaction.getCardInfo().getCardCompany());
+        
+        if (apiService == null) {
+            throw new RuntimeException("Unsupported card company: " + 
+                transaction.getCardInfo().getCardCompany());
+        }
+        
+        return apiService.getReceiptDocumentId(transaction);
+    }
+    
+    public StoredDocument downloadReceiptDocument(TransactionRecord transaction) {
         CardApiService apiService = getApiService(transaction.getCardInfo().getCardCompany());
         
         if (apiService == null) {
@@ -90,9 +147,13 @@ public class CardApiAggregatorService {
                 transaction.getCardInfo().getCardCompany());
         }
         
+        Timer.Sample sample = metrics.startTimer();
         try {
-            return apiService.downloadReceiptDocument(transaction);
+            StoredDocument document = apiService.downloadReceiptDocument(transaction);
+            metrics.recordProviderCall(sample, apiService.getCardCompany(), "document", true);
+            return document;
         } catch (Exception e) {
+            metrics.recordProviderCall(sample, apiService.getCardCompany(), "document", false);
             log.error("Failed to download receipt for transaction: {}", 
                 transaction.getApprovalNumber(), e);
             return null;
@@ -107,14 +168,28 @@ public class CardApiAggregatorService {
             return false;
         }
         
+        Timer.Sample sample = metrics.startTimer();
         try {
-            return apiService.validateCard(cardNumber, authCredentials);
+            boolean valid = apiService.validateCard(cardNumber, authCredentials);
+            metrics.recordProviderCall(sample, apiService.getCardCompany(), "validate", true);
+            return valid;
         } catch (Exception e) {
+            metrics.recordProviderCall(sample, apiService.getCardCompany(), "validate", false);
             log.error("Card validation failed", e);
             return false;
         }
     }
     
+    public String getWebhookSecret(String cardCompany) {
+        CardApiService apiService = getApiService(cardCompany);
+        return apiService != null ? apiService.getWebhookSecret() : null;
+    }
+    
+    public boolean supportsPushNotification(String cardCompany) {
+        CardApiService apiService = getApiService(cardCompany);
+        return apiService != null && apiService.supportsPushNotification();
+    }
+    
     public List<String> getSupportedCardCompanies() {
         return cardApiServices.stream()
             .map(CardApiService::getCardCompany)
@@ -2,9 +2,13 @@ package com.company.receipt.external.common;
 
 import com.company.receipt.domain.CardInfo;
 import com.company.receipt.domain.TransactionRecord;
+import com.company.receipt.storage.StoredDocument;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CardApiService {
     
@@ -27,10 +31,50 @@ public interface CardApiService {
         LocalDateTime toDate
     ) throws Exception;
     
+    /**
+     * 거래내역 스트리밍 조회
+     * 응답을 batchSize 단위로 나누어 batchConsumer 에 전달한다.
+     * 배치는 거래일시 오름차순이어야 한다 (호출 측이 배치마다 재개 지점을 기록함).
+     * 기본 구현은 전체 목록을 조회한 뒤 나누므로, 대용량 이력을 가진 카드사는 재정의해야 한다.
+     */
+    default int streamTransactions(
+        CardInfo cardInfo,
+        LocalDateTime fromDate,
+        LocalDateTime toDate,
+        int batchSize,
+        Consumer<List<TransactionRecord>> batchConsumer
+    ) throws Exception {
+        List<TransactionRecord> transactions = new ArrayList<>(fetchTransactions(cardInfo, fromDate, toDate));
+        
+        // 배치 단위 체크포인트가 유효하도록 거래일시 오름차순으로 전달
+        transactions.sort(Comparator.comparing(TransactionRecord::getTransactionDateTime));
+        
+        for (int i = 0; i < transactions.size(); i += batchSize) {
+            batchConsumer.accept(new ArrayList<>(
+                transactions.subList(i, Math.min(i + batchSize, transactions.size()))));
+        }
+        
+        return transactions.size();
+    }
+    
     /**
      * 영수증 문서 다운로드
+     * 문서를 DocumentStore 에 저장하고 저장 결과를 반환한다. 문서가 없으면 null.
+     */
+    StoredDocument downloadReceiptDocument(TransactionRecord transaction) throws Exception;
+    
+    /**
+     * 카드사 영수증 문서 식별자
+     * 같은 식별자는 같은 문서를 가리키므로, 이미 받은 식별자는 다시 다운로드하지 않는다.
+     * 마스킹 번호는 카드끼리 겹칠 수 있어 다른 카드의 문서를 돌려줄 수 있으므로 카드 ID 를 사용한다.
      */
-    String downloadReceiptDocument(TransactionRecord transaction) throws Exception;
+    default String getReceiptDocumentId(TransactionRecord transaction) {
+        return String.join(":",
+            getCardCompany(),
+            String.valueOf(transaction.getCardInfo().getCardId()),
+            transaction.getTransactionDateTime().toLocalDate().toString(),
+            transaction.getApprovalNumber());
+    }
     
     /**
      * 카드 유효성 검증
@@ -44,6 +88,21 @@ public interface CardApiService {
         return false;
     }
     
+    /**
+     * 푸시(웹훅) 서명 검증용 공유 비밀키
+     * null 이면 해당 카드사는 웹훅 수신을 지원하지 않는다.
+     */
+    default String getWebhookSecret() {
+        return null;
+    }
+    
+    /**
+     * 웹훅 수신 지원 여부
+     */
+    default boolean supportsPushNotification() {
+        return getWebhookSecret() != null;
+    }
+    
     /**
      * 배치 조회 최대 기간 (일)
      */
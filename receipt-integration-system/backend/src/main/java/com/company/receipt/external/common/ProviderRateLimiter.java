@@ -0,0 +1,105 @@
+package com.company.receipt.external.common;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 카드사별 API 호출 처리율 제한 (토큰 버킷)
+ * CardApiService.getRateLimitInfo 기준으로 노드 단위 호출량을 제한한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProviderRateLimiter {
+    
+    private final List<CardApiService> cardApiServices;
+    
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    
+    /**
+     * 호출 허용 여부 (허용 시 토큰 1개 소비)
+     */
+    public boolean tryAcquire(String cardCompany) {
+        return bucket(cardCompany).tryAcquire();
+    }
+    
+    /**
+     * 다음 토큰이 생길 때까지 남은 시간
+     */
+    public Duration timeUntilAvailable(String cardCompany) {
+        return bucket(cardCompany).timeUntilAvailable();
+    }
+    
+    /**
+     * 토큰을 얻을 때까지 최대 maxWait 동안 대기 (기다려도 얻을 수 없으면 바로 false)
+     */
+    public boolean acquire(String cardCompany, Duration maxWait) throws InterruptedException {
+        TokenBucket bucket = bucket(cardCompany);
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        
+        while (!bucket.tryAcquire()) {
+            Duration wait = bucket.timeUntilAvailable();
+            if (wait.toNanos() > deadline - System.nanoTime()) {
+                return false;
+            }
+            Thread.sleep(Math.max(1, wait.toMillis()));
+        }
+        return true;
+    }
+    
+    private TokenBucket bucket(String cardCompany) {
+        return buckets.computeIfAbsent(cardCompany.toUpperCase(), company -> {
+            CardApiService.RateLimitInfo limit = cardApiServices.stream()
+                .filter(service -> service.supports(company))
+                .findFirst()
+                .map(CardApiService::getRateLimitInfo)
+                .orElse(new CardApiService.RateLimitInfo(100, 3600));
+            
+            log.info("Rate limit for {}: {} calls / {}s", company, limit.getMaxCalls(), limit.getPeriodSeconds());
+            return new TokenBucket(limit.getMaxCalls(), limit.getPeriodSeconds());
+        });
+    }
+    
+    private static class TokenBucket {
+        private final double capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefillNanos;
+        
+        TokenBucket(int maxCalls, int periodSeconds) {
+            this.capacity = maxCalls;
+            this.refillPerNano = maxCalls / (periodSeconds * 1_000_000_000.0);
+            this.tokens = maxCalls;
+            this.lastRefillNanos = System.nanoTime();
+        }
+        
+        synchronized boolean tryAcquire() {
+            refill();
+            if (tokens >= 1.0) {
+                tokens -= 1.0;
+                return true;
+            }
+            return false;
+        }
+        
+        synchronized Duration timeUntilAvailable() {
+            refill();
+            if (tokens >= 1.0) {
+                return Duration.ZERO;
+            }
+            return Duration.ofNanos((long) Math.ceil((1.0 - tokens) / refillPerNano));
+        }
+        
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -1,4 +1,4 @@
-ppackage com.company.receipt.external.shinhan;
+package com.company.receipt.external.shinhan;
 
 import com.company.receipt.domain.CardInfo;
 import com.company.receipt.domain.TransactionRecord;
@@ -7,7 +7,12 @@ import com.company.receipt.external.shinhan.dto.ShinhanAuthRequest;
 import com.company.receipt.external.shinhan.dto.ShinhanAuthResponse;
 import com.company.receipt.external.shinhan.dto.ShinhanTransactionRequest;
 import com.company.receipt.external.shinhan.dto.ShinhanTransactionResponse;
-import com.company.receipt.util.EncryptionUtil;
+import com.company.receipt.storage.DocumentStore;
+import com.company.receipt.storage.StoredDocument;
+import com.company.receipt.util.CredentialCache;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,10 +22,16 @@ import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,7 +40,9 @@ import java.util.stream.Collectors;
 public class ShinhanCardApiService implements CardApiService {
     
     private final RestTemplate restTemplate;
-    private final EncryptionUtil encryptionUtil;
+    private final CredentialCache credentialCache;
+    private final ObjectMapper objectMapper;
+    private final DocumentStore documentStore;
     
     @Value("${external.api.shinhan.base-url}")
     private String baseUrl;
@@ -40,14 +53,33 @@ public class ShinhanCardApiService implements CardApiService {
     @Value("${external.api.shinhan.client-secret}")
     private String clientSecret;
     
+    @Value("${external.api.shinhan.webhook-secret:}")
+    private String webhookSecret;
+    
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
     private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final int PAGE_SIZE = 500;
     
     @Override
     public boolean supports(String cardCompany) {
         return "SHINHAN".equalsIgnoreCase(cardCompany);
     }
     
+    @Override
+    public String getCardCompany() {
+        return "SHINHAN";
+    }
+    
+    @Override
+    public String getWebhookSecret() {
+        return webhookSecret == null || webhookSecret.isBlank() ? null : webhookSecret;
+    }
+    
+    @Override
+    public boolean supportsRealtimeSync() {
+        return supportsPushNotification();
+    }
+    
     @Override
     @Retryable(value = Exception.class, maxAttempts = 3, backoff = @Backoff(delay = 1000))
     public List<TransactionRecord> fetchTransactions(CardInfo cardInfo, LocalDateTime fromDate, LocalDateTime toDate) {
@@ -86,8 +118,72 @@ public class ShinhanCardApiService implements CardApiService {
         }
     }
     
+    /**
+     * 거래내역 스트리밍 조회
+     * 응답 본문을 JsonParser 로 토큰 단위로 읽어 거래 1건씩 변환하고, batchSize 단위로 전달한다.
+     * 페이지 전체나 거래 목록 전체를 메모리에 올리지 않는다.
+     * 이미 전달한 배치는 호출 측에서 커밋되므로 여기서 재시도하지 않는다 (재시도는 호출 측이 워터마크부터 재개).
+     */
+    @Override
+    public int streamTransactions(CardInfo cardInfo, LocalDateTime fromDate, LocalDateTime toDate,
+                                  int batchSize, Consumer<List<TransactionRecord>> batchConsumer) {
+        log.info("Streaming Shinhan card transactions for card: {}", cardInfo.getCardId());
+        
+        try {
+            String accessToken = authenticate(cardInfo);
+            HttpHeaders headers = createHeaders(accessToken);
+            
+            List<TransactionRecord> buffer = new ArrayList<>(batchSize);
+            int total = 0;
+            int pageNo = 1;
+            int pageCount;
+            
+            do {
+                ShinhanTransactionRequest request = ShinhanTransactionRequest.builder()
+                    .cardNo(decryptCardNumber(cardInfo))
+                    .startDate(fromDate.format(DATE_FORMAT))
+                    .endDate(toDate.format(DATE_FORMAT))
+                    .pageNo(pageNo)
+                    .pageSize(PAGE_SIZE)
+                    .sortOrder("ASC")
+                    .build();
+                
+                Integer count = restTemplate.execute(
+                    baseUrl + "/api/v1/card/transaction/list",
+                    HttpMethod.POST,
+                    restTemplate.httpEntityCallback(new HttpEntity<>(request, headers)),
+                    response -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            throw new RuntimeException("Failed to fetch transactions from Shinhan API: " 
+                                + response.getStatusCode());
+                        }
+                        try (JsonParser parser = objectMapper.getFactory().createParser(response.getBody())) {
+                            return readTransactionPage(parser, cardInfo, buffer, batchSize, batchConsumer);
+                        }
+                    }
+                );
+                
+                pageCount = count != null ? count : 0;
+                total += pageCount;
+                pageNo++;
+            } while (pageCount >= PAGE_SIZE);
+            
+            if (!buffer.isEmpty()) {
+                batchConsumer.accept(new ArrayList<>(buffer));
+                buffer.clear();
+            }
+            
+            log.info("Streamed {} Shinhan transactions for card: {}", total, cardInfo.getCardId());
+            return total;
+            
+        } catch (Exception e) {
+            log.error("Error streaming Shinhan card transactions", e);
+            throw new RuntimeException("Shinhan API call failed", e);
+        }
+    }
+    
     @Override
-    public String downloadReceiptDocument(TransactionRecord transaction) {
+    public StoredDocument downloadReceiptDocument(TransactionRecord transaction) {
         log.info("Downloading receipt for transaction: {}", transaction.getApprovalNumber());
         
         try {
@@ -99,19 +195,27 @@ public class ShinhanCardApiService implements CardApiService {
             String url = String.format("%s/api/v1/card/receipt/%s", 
                 baseUrl, transaction.getApprovalNumber());
             
-            HttpEntity<Void> entity = new HttpEntity<>(headers);
-            
-            ResponseEntity<byte[]> response = restTemplate.exchange(
+            // 응답 본문을 버퍼링하지 않고 저장소로 바로 스트리밍
+            StoredDocument document = restTemplate.execute(
                 url,
                 HttpMethod.GET,
-                entity,
-                byte[].class
+                restTemplate.httpEntityCallback(new HttpEntity<Void>(headers)),
+                response -> {
+                    if (!response.getStatusCode().is2xxSuccessful()) {
+                        return null;
+                    }
+                    MediaType contentType = response.getHeaders().getContentType();
+                    try (ReadableByteChannel body = Channels.newChannel(response.getBody())) {
+                        return documentStore.store(body,
+                            contentType != null ? contentType.toString() : MediaType.APPLICATION_PDF_VALUE);
+                    }
+                }
             );
             
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                // 파일 저장 로직 (S3, 로컬 스토리지 등)
-                String fileUrl = saveReceiptFile(response.getBody(), transaction);
-                return fileUrl;
+            if (document != null) {
+                log.debug("Stored receipt document {} ({} bytes)", 
+                    document.getLocation(), document.getSize());
+                return document;
             }
             
         } catch (Exception e) {
@@ -129,24 +233,28 @@ public class ShinhanCardApiService implements CardApiService {
             .scope("card.transaction.read card.receipt.read")
             .build();
         
-        // 사용자 인증 정보 추가 (공동인증서 등)
-        String decryptedAuth = encryptionUtil.decrypt(cardInfo.getAuthCredentials());
-        authRequest.setUserAuth(decryptedAuth);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        
-        HttpEntity<ShinhanAuthRequest> entity = new HttpEntity<>(authRequest, headers);
-        
-        ResponseEntity<ShinhanAuthResponse> response = restTemplate.exchange(
-            baseUrl + "/api/v1/auth/token",
-            HttpMethod.POST,
-            entity,
-            ShinhanAuthResponse.class
-        );
+        // 사용자 인증 정보 추가 (공동인증서 등), 복호화 결과는 단기 캐시에서 사본으로 받아 전송 후 지움
+        char[] userAuth = credentialCache.getDecrypted(cardInfo);
+        authRequest.setUserAuth(userAuth);
         
-        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-            return response.getBody().getAccessToken();
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            
+            HttpEntity<ShinhanAuthRequest> entity = new HttpEntity<>(authRequest, headers);
+            
+            ResponseEntity<ShinhanAuthResponse> response = restTemplate.exchange(
+                baseUrl + "/api/v1/auth/token",
+                HttpMethod.POST,
+                entity,
+                ShinhanAuthResponse.class
+            );
+            
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                return response.getBody().getAccessToken();
+            }
+        } finally {
+            Arrays.fill(userAuth, '\0');
         }
         
         throw new RuntimeException("Authentication failed");
@@ -164,37 +272,69 @@ public class ShinhanCardApiService implements CardApiService {
             ShinhanTransactionResponse response, CardInfo cardInfo) {
         
         return response.getTransactions().stream()
-            .map(tx -> TransactionRecord.builder()
-                .cardInfo(cardInfo)
-                .transactionDateTime(LocalDateTime.parse(tx.getTransactionDate(), DATETIME_FORMAT))
-                .approvalNumber(tx.getApprovalNo())
-                .merchantName(tx.getMerchantName())
-                .merchantBizNumber(tx.getMerchantBizNo())
-                .merchantCategory(tx.getMerchantCategory())
-                .amount(new BigDecimal(tx.getAmount()))
-                .vatAmount(new BigDecimal(tx.getVatAmount()))
-                .currency(tx.getCurrency())
-                .paymentType(TransactionRecord.PaymentType.valueOf(tx.getPaymentType()))
-                .installmentMonths(tx.getInstallmentMonths())
-                .transactionStatus(TransactionRecord.TransactionStatus.valueOf(tx.getStatus()))
-                .rawData(tx.toMap())
-                .build())
+            .map(tx -> convertToTransactionRecord(tx, cardInfo))
             .collect(Collectors.toList());
     }
     
-    private String decryptCardNumber(CardInfo cardInfo) {
-        // 실제 구현에서는 암호화된 카드번호를 복호화
-        return "1234567890123456";
+    private TransactionRecord convertToTransactionRecord(
+            ShinhanTransactionResponse.Transaction tx, CardInfo cardInfo) {
+        
+        return TransactionRecord.builder()
+            .cardInfo(cardInfo)
+            .transactionDateTime(LocalDateTime.parse(tx.getTransactionDate(), DATETIME_FORMAT))
+            .approvalNumber(tx.getApprovalNo())
+            .merchantName(tx.getMerchantName())
+            .merchantBizNumber(tx.getMerchantBizNo())
+            .merchantCategory(tx.getMerchantCategory())
+            .amount(new BigDecimal(tx.getAmount()))
+            .vatAmount(new BigDecimal(tx.getVatAmount()))
+            .currency(tx.getCurrency())
+            .paymentType(TransactionRecord.PaymentType.valueOf(tx.getPaymentType()))
+            .installmentMonths(tx.getInstallmentMonths())
+            .transactionStatus(TransactionRecord.TransactionStatus.valueOf(tx.getStatus()))
+            .rawData(tx.toMap())
+            .build();
     }
     
-    private String saveReceiptFile(byte[] fileData, TransactionRecord transaction) {
-        // 실제 구현에서는 S3 또는 로컬 스토리지에 저장
-        String fileName = String.format("receipt_%s_%s.pdf", 
-            transaction.getApprovalNumber(), 
-            System.currentTimeMillis());
+    /**
+     * 한 페이지 응답에서 "transactions" 배열만 읽어 변환한다.
+     * 배열 외의 필드는 건너뛰며, 버퍼가 batchSize 에 도달할 때마다 batchConsumer 로 넘긴다.
+     */
+    private int readTransactionPage(JsonParser parser, CardInfo cardInfo,
+                                    List<TransactionRecord> buffer, int batchSize,
+                                    Consumer<List<TransactionRecord>> batchConsumer) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Unexpected Shinhan transaction response format");
+        }
         
-        // 파일 저장 로직
+        int count = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            
+            if (!"transactions".equals(fieldName) || valueToken != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                ShinhanTransactionResponse.Transaction tx = 
+                    objectMapper.readValue(parser, ShinhanTransactionResponse.Transaction.class);
+                buffer.add(convertToTransactionRecord(tx, cardInfo));
+                count++;
+                
+                if (buffer.size() >= batchSize) {
+                    batchConsumer.accept(new ArrayList<>(buffer));
+                    buffer.clear();
+                }
+            }
+        }
         
-        return "/receipts/" + fileName;
+        return count;
+    }
+    
+    private String decryptCardNumber(CardInfo cardInfo) {
+        // 실제 구현에서는 암호화된 카드번호를 복호화
+        return "1234567890123456";
     }
-}
+}
\ No newline at end of file
@@ -22,7 +22,8 @@ public class ShinhanAuthRequest {
     private String scope;
     
     @JsonProperty("user_auth")
-    private String userAuth; // 사용자 인증 정보 (공동인증서 등)
+    @ToString.Exclude
+    private char[] userAuth; // 사용자 인증 정보 (공동인증서 등), 요청 후 호출측에서 0 으로 덮어씀
     
     @JsonProperty("card_no")
     private String cardNo;
@@ -1 +1,90 @@
+// ShinhanTransactionResponse.java
+package com.company.receipt.external.shinhan.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ShinhanTransactionResponse {
+
+    @JsonProperty("result_code")
+    private String resultCode;
+
+    @JsonProperty("total_count")
+    private Integer totalCount;
+
+    @JsonProperty("page_no")
+    private Integer pageNo;
+
+    @JsonProperty("page_size")
+    private Integer pageSize;
+
+    @JsonProperty("transactions")
+    private List<Transaction> transactions;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Transaction {
+
+        @JsonProperty("transaction_date")
+        private String transactionDate; // YYYYMMDDHHmmss
+
+        @JsonProperty("approval_no")
+        private String approvalNo;
+
+        @JsonProperty("merchant_name")
+        private String merchantName;
+
+        @JsonProperty("merchant_biz_no")
+        private String merchantBizNo;
+
+        @JsonProperty("merchant_category")
+        private String merchantCategory;
+
+        @JsonProperty("amount")
+        private String amount;
+
+        @JsonProperty("vat_amount")
+        private String vatAmount;
+
+        @JsonProperty("currency")
+        private String currency;
+
+        @JsonProperty("payment_type")
+        private String paymentType; // CREDIT, CHECK
+
+        @JsonProperty("installment_months")
+        private Integer installmentMonths;
+
+        @JsonProperty("status")
+        private String status; // APPROVED, CANCELLED
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new HashMap<>();
+            map.put("transaction_date", transactionDate);
+            map.put("approval_no", approvalNo);
+            map.put("merchant_name", merchantName);
+            map.put("merchant_biz_no", merchantBizNo);
+            map.put("merchant_category", merchantCategory);
+            map.put("amount", amount);
+            map.put("vat_amount", vatAmount);
+            map.put("currency", currency);
+            map.put("payment_type", paymentType);
+            map.put("installment_months", installmentMonths);
+            map.put("status", status);
+            return map;
+        }
+    }
+}
@@ -28,6 +28,12 @@ public interface AccountingMatchRepository extends JpaRepository<AccountingMatch
            "ORDER BY m.createdAt DESC")
     List<AccountingMatch> findActiveMatchesByReceiptId(@Param("receiptId") Long receiptId);
     
+    @Query("SELECT m FROM AccountingMatch m " +
+           "LEFT JOIN FETCH m.matchedBy u " +
+           "WHERE m.electronicReceipt.receiptId = :receiptId " +
+           "ORDER BY m.createdAt DESC")
+    List<AccountingMatch> findByReceiptIdWithMatcher(@Param("receiptId") Long receiptId);
+    
     @Query("SELECT m FROM AccountingMatch m " +
            "WHERE m.matchedBy.userId = :userId " +
            "AND m.createdAt BETWEEN :startDate AND :endDate")
@@ -0,0 +1,184 @@
+package com.company.receipt.repository;
+
+import com.company.receipt.domain.CardInfo;
+import com.company.receipt.dto.ActiveCardSyncDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CardInfoRepository extends JpaRepository<CardInfo, Long> {
+    
+    /**
+     * 동기화 우선순위: 거래가 잦을수록, 마지막 동기화가 오래될수록 높다
+     */
+    String SYNC_PRIORITY = "(c.recent_tx_rate + 1) * " +
+        "TIMESTAMPDIFF(MINUTE, COALESCE(c.last_sync_date, c.created_at), :now)";
+    
+    boolean existsByUserUserIdAndCardNumberMasked(Long userId, String cardNumberMasked);
+    
+    /**
+     * 주어진 마스킹 번호 중 사용자에게 이미 등록된 번호 (대량 등록 중복 체크용)
+     */
+    @Query("SELECT c.cardNumberMasked FROM CardInfo c " +
+           "WHERE c.user.userId = :userId " +
+           "AND c.cardNumberMasked IN :maskedNumbers")
+    List<String> findRegisteredMaskedNumbers(
+        @Param("userId") Long userId,
+        @Param("maskedNumbers") Collection<String> maskedNumbers
+    );
+    
+    @Query("SELECT c FROM CardInfo c " +
+           "WHERE c.user.userId = :userId " +
+           "AND c.isActive = true " +
+           "ORDER BY c.createdAt")
+    List<CardInfo> findActiveCardsByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT c FROM CardInfo c JOIN FETCH c.user WHERE c.cardId = :cardId")
+    Optional<CardInfo> findByIdWithUser(@Param("cardId") Long cardId);
+    
+    @Query("SELECT c FROM CardInfo c " +
+           "WHERE c.isActive = true " +
+           "AND (c.lastSyncDate IS NULL OR c.lastSyncDate < :threshold)")
+    List<CardInfo> findCardsNeedingSync(@Param("threshold") LocalDateTime threshold);
+    
+    /**
+     * 활성 카드 키셋 페이지 조회 (afterCardId 다음부터 pageable 크기만큼)
+     * 엔티티를 만들지 않고 (is_active, card_id) 인덱스 순서로 읽는다.
+     */
+    @Query("SELECT new com.company.receipt.dto.ActiveCardSyncDto(" +
+           "c.cardId, c.cardCompany, c.lastSyncDate, c.syncWatermark, c.nextSyncAt) " +
+           "FROM CardInfo c " +
+           "WHERE c.isActive = true " +
+           "AND c.cardId > :afterCardId " +
+           "ORDER BY c.cardId")
+    List<ActiveCardSyncDto> findActiveCardPage(
+        @Param("afterCardId") Long afterCardId,
+        Pageable pageable
+    );
+    
+    /**
+     * 샤드 구간의 활성 카드 조회 (우선순위 순, 실패 백오프 중인 카드 제외)
+     */
+    @Query(value = "SELECT * FROM card_info c " +
+           "WHERE c.is_active = true " +
+           "AND c.card_id BETWEEN :fromCardId AND :toCardId " +
+           "AND (c.consecutive_failures = 0 OR c.next_sync_at IS NULL OR c.next_sync_at <= :now) " +
+           "ORDER BY " + SYNC_PRIORITY + " DESC", 
+           nativeQuery = true)
+    List<CardInfo> findActiveCardsInRange(
+        @Param("fromCardId") Long fromCardId,
+        @Param("toCardId") Long toCardId,
+        @Param("now") LocalDateTime now
+    );
+    
+    @Query("SELECT DISTINCT c.cardCompany FROM CardInfo c " +
+           "WHERE c.isActive = true " +
+           "AND (c.nextSyncAt IS NULL OR c.nextSyncAt <= :now)")
+    List<String> findCardCompaniesWithDueCards(@Param("now") LocalDateTime now);
+    
+    /**
+     * 카드사별 동기화 대상 카드 조회 (우선순위 순)
+     */
+    @Query(value = "SELECT * FROM card_info c " +
+           "WHERE c.is_active = true " +
+           "AND c.card_company = :cardCompany " +
+           "AND (c.next_sync_at IS NULL OR c.next_sync_at <= :now) " +
+           "ORDER BY " + SYNC_PRIORITY + " DESC " +
+           "LIMIT :limit", 
+           nativeQuery = true)
+    List<CardInfo> findDueCardsByCompany(
+        @Param("cardCompany") String cardCompany,
+        @Param("now") LocalDateTime now,
+        @Param("limit") int limit
+    );
+    
+    /**
+     * 활성 키가 아닌 키로 암호화된 인증 정보 (재암호화 대상, card_id 키셋 페이지)
+     */
+    @Query("SELECT c.cardId, c.authCredentials FROM CardInfo c " +
+           "WHERE c.authCredentials IS NOT NULL " +
+           "AND c.authCredentials NOT LIKE CONCAT(:activePrefix, '%') " +
+           "AND c.cardId > :afterCardId " +
+           "ORDER BY c.cardId")
+    List<Object[]> findCredentialsNotEncryptedWith(
+        @Param("activePrefix") String activePrefix,
+        @Param("afterCardId") Long afterCardId,
+        Pageable pageable
+    );
+    
+    /**
+     * 조회 이후 인증 정보가 바뀌지 않은 경우에만 교체 (동시 수정 보호)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE CardInfo c SET c.authCredentials = :newCredentials " +
+           "WHERE c.cardId = :cardId AND c.authCredentials = :oldCredentials")
+    int replaceAuthCredentials(
+        @Param("cardId") Long cardId,
+        @Param("oldCredentials") String oldCredentials,
+        @Param("newCredentials") String newCredentials
+    );
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE CardInfo c " +
+           "SET c.recentTxRate = :recentTxRate, c.consecutiveFailures = 0, c.nextSyncAt = :nextSyncAt " +
+           "WHERE c.cardId = :cardId")
+    int recordSyncSuccess(
+        @Param("cardId") Long cardId,
+        @Param("recentTxRate") double recentTxRate,
+        @Param("nextSyncAt") LocalDateTime nextSyncAt
+    );
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE CardInfo c " +
+           "SET c.consecutiveFailures = c.consecutiveFailures + 1, c.nextSyncAt = :nextSyncAt " +
+           "WHERE c.cardId = :cardId")
+    int recordSyncFailure(
+        @Param("cardId") Long cardId,
+        @Param("nextSyncAt") LocalDateTime nextSyncAt
+    );
+    
+    /**
+     * 동기화 워터마크 전진 (뒤로 가지 않음)
+     */
+    @Modifying
+    @Query("UPDATE CardInfo c SET c.syncWatermark = :watermark " +
+           "WHERE c.cardId = :cardId " +
+           "AND (c.syncWatermark IS NULL OR c.syncWatermark < :watermark)")
+    int advanceSyncWatermark(
+        @Param("cardId") Long cardId,
+        @Param("watermark") LocalDateTime watermark
+    );
+    
+    @Modifying
+    @Query("UPDATE CardInfo c " +
+           "SET c.lastSyncDate = :syncedAt, c.syncStatus = 'SUCCESS', c.updatedAt = :syncedAt, " +
+           "c.syncWatermark = CASE WHEN c.syncWatermark IS NULL OR c.syncWatermark < :watermark " +
+           "                       THEN :watermark ELSE c.syncWatermark END " +
+           "WHERE c.cardId = :cardId")
+    int completeSync(
+        @Param("cardId") Long cardId,
+        @Param("syncedAt") LocalDateTime syncedAt,
+        @Param("watermark") LocalDateTime watermark
+    );
+    
+    @Modifying
+    @Query("UPDATE CardInfo c SET c.syncStatus = :status, c.updatedAt = :updatedAt WHERE c.cardId = :cardId")
+    int updateSyncStatus(
+        @Param("cardId") Long cardId,
+        @Param("status") CardInfo.SyncStatus status,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+}
@@ -1,10 +1,12 @@
 package com.company.receipt.repository;
 
 import com.company.receipt.domain.ElectronicReceipt;
+import com.company.receipt.dto.ReceiptResponseDto;
 import com.company.receipt.dto.ReceiptSearchDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -39,8 +41,7 @@ public interface ElectronicReceiptRepository extends JpaRepository<ElectronicRec
     );
     
     @Query("SELECT r FROM ElectronicReceipt r " +
-           "LEFT JOIN r.accountingMatches m " +
-           "WHERE m IS NULL OR m.matchStatus != 'MATCHED'")
+           "WHERE r.matchState <> com.company.receipt.domain.ElectronicReceipt.MatchState.MATCHED")
     List<ElectronicReceipt> findUnmatchedReceipts();
     
     @Query("SELECT r FROM ElectronicReceipt r " +
@@ -89,10 +90,40 @@ public interface ElectronicReceiptRepository extends JpaRepository<ElectronicRec
            "WHERE r.receiptId IN :ids")
     List<ElectronicReceipt> findByIdsWithDetails(@Param("ids") List<Long> ids);
     
+    /**
+     * 상세 조회용 (거래/카드/품목을 한 번에 fetch, 매칭 내역은 AccountingMatchRepository 에서 별도 조회)
+     */
+    @Query("SELECT r FROM ElectronicReceipt r " +
+           "JOIN FETCH r.transactionRecord t " +
+           "JOIN FETCH t.cardInfo c " +
+           "LEFT JOIN FETCH r.items " +
+           "WHERE r.receiptId = :receiptId")
+    Optional<ElectronicReceipt> findDetailById(@Param("receiptId") Long receiptId);
+    
+    /**
+     * 가맹점명 부분 검색 (ngram FULLTEXT 인덱스 사용, 인덱스 토큰보다 짧은 검색어만 LIKE 전체 스캔)
+     */
+    default Page<ElectronicReceipt> findByMerchantNameContaining(String merchantName, Pageable pageable) {
+        String fulltextQuery = MerchantNameSearch.toFulltextQuery(merchantName);
+        return fulltextQuery != null
+            ? findByMerchantNameFulltext(fulltextQuery, merchantName, pageable)
+            : findByMerchantNameLike(merchantName, pageable);
+    }
+    
+    @Query("SELECT r FROM ElectronicReceipt r " +
+           "JOIN r.transactionRecord t " +
+           "WHERE merchant_match(t.merchantName, :fulltextQuery) > 0 " +
+           "AND LOWER(t.merchantName) LIKE LOWER(CONCAT('%', :merchantName, '%'))")
+    Page<ElectronicReceipt> findByMerchantNameFulltext(
+        @Param("fulltextQuery") String fulltextQuery,
+        @Param("merchantName") String merchantName, 
+        Pageable pageable
+    );
+    
     @Query("SELECT r FROM ElectronicReceipt r " +
            "JOIN r.transactionRecord t " +
            "WHERE LOWER(t.merchantName) LIKE LOWER(CONCAT('%', :merchantName, '%'))")
-    Page<ElectronicReceipt> findByMerchantNameContaining(
+    Page<ElectronicReceipt> findByMerchantNameLike(
         @Param("merchantName") String merchantName, 
         Pageable pageable
     );
@@ -114,10 +145,53 @@ public interface ElectronicReceiptRepository extends JpaRepository<ElectronicRec
         @Param("startDate") LocalDateTime startDate,
         @Param("endDate") LocalDateTime endDate
     );
+    
+    @Modifying
+    @Query("UPDATE ElectronicReceipt r " +
+           "SET r.receiptPdfUrl = COALESCE(:pdfUrl, r.receiptPdfUrl), " +
+           "r.receiptImageUrl = COALESCE(:imageUrl, r.receiptImageUrl) " +
+           "WHERE r.receiptId = :receiptId")
+    int updateDocumentUrls(
+        @Param("receiptId") Long receiptId,
+        @Param("pdfUrl") String pdfUrl,
+        @Param("imageUrl") String imageUrl
+    );
+    
+    /**
+     * 매칭 상태 재계산
+     * 확정(MATCHED, PARTIAL) 매칭 금액 합계를 거래 금액과 비교해 UNMATCHED/PARTIAL/MATCHED 로 기록한다.
+     */
+    @Modifying
+    @Query(value = "UPDATE electronic_receipts r " +
+           "JOIN transaction_records t ON t.transaction_id = r.transaction_id " +
+           "LEFT JOIN (SELECT m.receipt_id, SUM(m.matched_amount) AS matched_total " +
+           "           FROM accounting_matches m " +
+           "           WHERE m.receipt_id = :receiptId AND m.match_status IN ('MATCHED', 'PARTIAL') " +
+           "           GROUP BY m.receipt_id) mt ON mt.receipt_id = r.receipt_id " +
+           "SET r.match_status = CASE " +
+           "    WHEN mt.matched_total IS NULL OR mt.matched_total <= 0 THEN 'UNMATCHED' " +
+           "    WHEN mt.matched_total >= t.amount THEN 'MATCHED' " +
+           "    ELSE 'PARTIAL' END " +
+           "WHERE r.receipt_id = :receiptId",
+           nativeQuery = true)
+    int refreshMatchState(@Param("receiptId") Long receiptId);
+    
+    @Modifying
+    @Query("UPDATE ElectronicReceipt r " +
+           "SET r.isVerified = true, r.verificationDate = :verificationDate, r.verificationMethod = :method " +
+           "WHERE r.receiptId IN :receiptIds")
+    int markVerified(
+        @Param("receiptIds") List<Long> receiptIds,
+        @Param("verificationDate") LocalDateTime verificationDate,
+        @Param("method") String method
+    );
 }
 
 // Custom Repository Interface
 interface ElectronicReceiptRepositoryCustom {
-    Page<ElectronicReceipt> searchReceipts(ReceiptSearchDto searchDto, Pageable pageable);
+    Page<ReceiptResponseDto> searchReceipts(ReceiptSearchDto searchDto, Pageable pageable);
+    long countReceipts(ReceiptSearchDto searchDto);
+    List<ReceiptResponseDto> searchReceiptsAfter(ReceiptSearchDto searchDto, String sortBy, boolean ascending,
+                                                 ReceiptSearchCursor cursor, int limit);
     List<ElectronicReceipt> findReceiptsForAutoMatch(LocalDateTime startDate, LocalDateTime endDate);
-}
\ No newline at end of file
+}
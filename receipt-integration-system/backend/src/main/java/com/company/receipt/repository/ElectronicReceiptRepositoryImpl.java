@@ -1,10 +1,12 @@
 package com.company.receipt.repository;
 
+import com.company.receipt.config.MySqlFunctionContributor;
 import com.company.receipt.domain.ElectronicReceipt;
+import com.company.receipt.dto.ReceiptResponseDto;
 import com.company.receipt.dto.ReceiptSearchDto;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.TypedQuery;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.criteria.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -16,6 +18,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Repository
 public class ElectronicReceiptRepositoryImpl implements ElectronicReceiptRepositoryCustom {
@@ -23,83 +28,129 @@ public class ElectronicReceiptRepositoryImpl implements ElectronicReceiptReposit
     @PersistenceContext
     private EntityManager entityManager;
     
+    /**
+     * 오프셋 페이지 검색
+     * 1단계에서 필요한 조인만으로 한 페이지 분량의 receipt_id 를 구하고,
+     * 2단계에서 해당 영수증의 목록 컬럼만 projection 으로 조회한다 (receipt_data, ocr_text 등 대용량 컬럼 제외).
+     */
     @Override
-    public Page<ElectronicReceipt> searchReceipts(ReceiptSearchDto searchDto, Pageable pageable) {
+    public Page<ReceiptResponseDto> searchReceipts(ReceiptSearchDto searchDto, Pageable pageable) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<ElectronicReceipt> query = cb.createQuery(ElectronicReceipt.class);
-        Root<ElectronicReceipt> receipt = query.from(ElectronicReceipt.class);
-        
-        // Fetch joins for performance
-        receipt.fetch("transactionRecord", JoinType.INNER)
-              .fetch("cardInfo", JoinType.INNER);
-        receipt.fetch("accountingMatches", JoinType.LEFT);
+        CriteriaQuery<Long> idQuery = cb.createQuery(Long.class);
+        Root<ElectronicReceipt> receipt = idQuery.from(ElectronicReceipt.class);
+        SearchJoins joins = new SearchJoins(receipt);
         
-        List<Predicate> predicates = buildPredicates(searchDto, cb, receipt);
+        List<Predicate> predicates = buildPredicates(searchDto, cb, joins);
         
-        query.where(predicates.toArray(new Predicate[0]));
+        idQuery.select(receipt.get("receiptId"));
+        idQuery.where(predicates.toArray(new Predicate[0]));
         
-        // Apply sorting
+        // Apply sorting (receipt_id 를 마지막 정렬 키로 두어 페이지 경계가 흔들리지 않도록 함)
+        List<Order> orders = new ArrayList<>();
         if (pageable.getSort().isSorted()) {
-            List<Order> orders = new ArrayList<>();
             pageable.getSort().forEach(order -> {
-                Path<?> path = getPath(receipt, order.getProperty());
+                Path<?> path = getPath(joins, order.getProperty());
                 if (path != null) {
                     orders.add(order.isAscending() ? 
                         cb.asc(path) : cb.desc(path));
                 }
             });
-            query.orderBy(orders);
         } else {
             // Default sorting by issue date desc
-            query.orderBy(cb.desc(receipt.get("issueDate")));
+            orders.add(cb.desc(receipt.get("issueDate")));
         }
+        orders.add(cb.desc(receipt.get("receiptId")));
+        idQuery.orderBy(orders);
         
-        TypedQuery<ElectronicReceipt> typedQuery = entityManager.createQuery(query);
+        List<Long> ids = entityManager.createQuery(idQuery)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+        
+        // 첫 페이지가 다 차지 않으면 건수 조회 생략
+        long total = pageable.getOffset() == 0 && ids.size() < pageable.getPageSize()
+            ? ids.size()
+            : countReceipts(searchDto);
         
-        // Count query
+        return new PageImpl<>(fetchSummariesInOrder(ids), pageable, total);
+    }
+    
+    @Override
+    public long countReceipts(ReceiptSearchDto searchDto) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
         Root<ElectronicReceipt> countRoot = countQuery.from(ElectronicReceipt.class);
-        countRoot.join("transactionRecord", JoinType.INNER);
         
-        List<Predicate> countPredicates = buildPredicates(searchDto, cb, countRoot);
+        List<Predicate> countPredicates = buildPredicates(searchDto, cb, new SearchJoins(countRoot));
         countQuery.select(cb.count(countRoot));
         countQuery.where(countPredicates.toArray(new Predicate[0]));
         
-        Long total = entityManager.createQuery(countQuery).getSingleResult();
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
+    
+    /**
+     * 키셋(seek) 방식 검색
+     * OFFSET 대신 (정렬 키, receipt_id) 가 커서보다 뒤인 행만 조회하므로 페이지 깊이와 무관하게 비용이 같다.
+     */
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<ReceiptResponseDto> searchReceiptsAfter(ReceiptSearchDto searchDto, String sortBy, boolean ascending,
+                                                        ReceiptSearchCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ElectronicReceipt> receipt = query.from(ElectronicReceipt.class);
+        SearchJoins joins = new SearchJoins(receipt);
+        
+        selectSummary(query, joins);
+        List<Predicate> predicates = buildPredicates(searchDto, cb, joins);
         
-        // Apply pagination
-        typedQuery.setFirstResult((int) pageable.getOffset());
-        typedQuery.setMaxResults(pageable.getPageSize());
+        Path sortPath = getPath(joins, sortBy);
+        Path<Long> idPath = receipt.get("receiptId");
         
-        List<ElectronicReceipt> results = typedQuery.getResultList();
+        if (cursor != null) {
+            Comparable value = (Comparable) cursor.getSortValue();
+            predicates.add(ascending
+                ? cb.or(cb.greaterThan(sortPath, value), 
+                        cb.and(cb.equal(sortPath, value), cb.greaterThan(idPath, cursor.getReceiptId())))
+                : cb.or(cb.lessThan(sortPath, value), 
+                        cb.and(cb.equal(sortPath, value), cb.lessThan(idPath, cursor.getReceiptId()))));
+        }
         
-        return new PageImpl<>(results, pageable, total);
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(ascending 
+            ? List.of(cb.asc(sortPath), cb.asc(idPath)) 
+            : List.of(cb.desc(sortPath), cb.desc(idPath)));
+        
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultStream()
+            .map(ElectronicReceiptRepositoryImpl::toSummary)
+            .collect(Collectors.toList());
     }
     
     @Override
     public List<ElectronicReceipt> findReceiptsForAutoMatch(LocalDateTime startDate, LocalDateTime endDate) {
-        String jpql = "SELECT DISTINCT r FROM ElectronicReceipt r " +
+        String jpql = "SELECT r FROM ElectronicReceipt r " +
                      "JOIN FETCH r.transactionRecord t " +
                      "JOIN FETCH t.cardInfo c " +
-                     "LEFT JOIN r.accountingMatches m " +
                      "WHERE r.issueDate BETWEEN :startDate AND :endDate " +
                      "AND r.isVerified = true " +
-                     "AND (m IS NULL OR m.matchStatus NOT IN ('MATCHED', 'PARTIAL')) " +
+                     "AND r.matchState = :unmatched " +
                      "ORDER BY r.issueDate DESC";
         
         return entityManager.createQuery(jpql, ElectronicReceipt.class)
             .setParameter("startDate", startDate)
             .setParameter("endDate", endDate)
+            .setParameter("unmatched", ElectronicReceipt.MatchState.UNMATCHED)
             .setMaxResults(1000) // Limit for performance
             .getResultList();
     }
     
     private List<Predicate> buildPredicates(ReceiptSearchDto searchDto, 
                                            CriteriaBuilder cb, 
-                                           Root<ElectronicReceipt> receipt) {
+                                           SearchJoins joins) {
         List<Predicate> predicates = new ArrayList<>();
-        Join<?, ?> transaction = receipt.join("transactionRecord");
-        Join<?, ?> card = transaction.join("cardInfo");
+        Root<ElectronicReceipt> receipt = joins.receipt;
         
         // Date range filter
         if (searchDto.getStartDate() != null && searchDto.getEndDate() != null) {
@@ -109,28 +160,36 @@ public class ElectronicReceiptRepositoryImpl implements ElectronicReceiptReposit
         
         // Card filter
         if (searchDto.getCardId() != null) {
-            predicates.add(cb.equal(card.get("cardId"), searchDto.getCardId()));
+            predicates.add(cb.equal(joins.card().get("cardId"), searchDto.getCardId()));
         }
         
         // User filter
         if (searchDto.getUserId() != null) {
-            predicates.add(cb.equal(card.get("user").get("userId"), searchDto.getUserId()));
+            predicates.add(cb.equal(joins.card().get("user").get("userId"), searchDto.getUserId()));
         }
         
-        // Merchant name filter
+        // Merchant name filter (ngram FULLTEXT 인덱스로 후보를 찾고 LIKE 로 정확히 확인)
         if (StringUtils.hasText(searchDto.getMerchantName())) {
-            predicates.add(cb.like(cb.lower(transaction.get("merchantName")), 
+            Path<String> merchantName = joins.transaction().get("merchantName");
+            String fulltextQuery = MerchantNameSearch.toFulltextQuery(searchDto.getMerchantName());
+            if (fulltextQuery != null) {
+                predicates.add(cb.greaterThan(
+                    cb.function(MySqlFunctionContributor.MERCHANT_MATCH, Double.class, 
+                        merchantName, cb.literal(fulltextQuery)), 
+                    0.0));
+            }
+            predicates.add(cb.like(cb.lower(merchantName), 
                 "%" + searchDto.getMerchantName().toLowerCase() + "%"));
         }
         
         // Amount range filter
         if (searchDto.getMinAmount() != null) {
             predicates.add(cb.greaterThanOrEqualTo(
-                transaction.get("amount"), searchDto.getMinAmount()));
+                joins.transaction().get("amount"), searchDto.getMinAmount()));
         }
         if (searchDto.getMaxAmount() != null) {
             predicates.add(cb.lessThanOrEqualTo(
-                transaction.get("amount"), searchDto.getMaxAmount()));
+                joins.transaction().get("amount"), searchDto.getMaxAmount()));
         }
         
         // Receipt type filter
@@ -139,26 +198,15 @@ public class ElectronicReceiptRepositoryImpl implements ElectronicReceiptReposit
                 ElectronicReceipt.ReceiptType.valueOf(searchDto.getReceiptType())));
         }
         
-        // Match status filter
+        // Match status filter (PARTIAL 은 매칭 금액이 일부만 확정된 영수증)
         if (StringUtils.hasText(searchDto.getMatchStatus()) && !"ALL".equals(searchDto.getMatchStatus())) {
             if ("MATCHED".equals(searchDto.getMatchStatus())) {
-                Subquery<Long> matchedSubquery = cb.createQuery().subquery(Long.class);
-                Root<?> matchRoot = matchedSubquery.from("AccountingMatch");
-                matchedSubquery.select(cb.count(matchRoot))
-                    .where(cb.and(
-                        cb.equal(matchRoot.get("electronicReceipt"), receipt),
-                        cb.equal(matchRoot.get("matchStatus"), "MATCHED")
-                    ));
-                predicates.add(cb.greaterThan(matchedSubquery, 0L));
+                predicates.add(receipt.get("matchState").in(
+                    ElectronicReceipt.MatchState.MATCHED, ElectronicReceipt.MatchState.PARTIAL));
             } else if ("UNMATCHED".equals(searchDto.getMatchStatus())) {
-                Subquery<Long> unmatchedSubquery = cb.createQuery().subquery(Long.class);
-                Root<?> matchRoot = unmatchedSubquery.from("AccountingMatch");
-                unmatchedSubquery.select(cb.count(matchRoot))
-                    .where(cb.and(
-                        cb.equal(matchRoot.get("electronicReceipt"), receipt),
-                        cb.equal(matchRoot.get("matchStatus"), "MATCHED")
-                    ));
-                predicates.add(cb.equal(unmatchedSubquery, 0L));
+                predicates.add(cb.equal(receipt.get("matchState"), ElectronicReceipt.MatchState.UNMATCHED));
+            } else if ("PARTIAL".equals(searchDto.getMatchStatus())) {
+                predicates.add(cb.equal(receipt.get("matchState"), ElectronicReceipt.MatchState.PARTIAL));
             }
         }
         
@@ -169,31 +217,128 @@ public class ElectronicReceiptRepositoryImpl implements ElectronicReceiptReposit
         
         // Merchant category filter
         if (StringUtils.hasText(searchDto.getMerchantCategory())) {
-            predicates.add(cb.equal(transaction.get("merchantCategory"), 
+            predicates.add(cb.equal(joins.transaction().get("merchantCategory"), 
                 searchDto.getMerchantCategory()));
         }
         
         // Approval number filter
         if (StringUtils.hasText(searchDto.getApprovalNumber())) {
-            predicates.add(cb.equal(transaction.get("approvalNumber"), 
+            predicates.add(cb.equal(joins.transaction().get("approvalNumber"), 
                 searchDto.getApprovalNumber()));
         }
         
         return predicates;
     }
     
-    private Path<?> getPath(Root<ElectronicReceipt> root, String property) {
+    private List<ReceiptResponseDto> fetchSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ElectronicReceipt> receipt = query.from(ElectronicReceipt.class);
+        
+        selectSummary(query, new SearchJoins(receipt));
+        query.where(receipt.get("receiptId").in(ids));
+        
+        Map<Long, ReceiptResponseDto> byId = entityManager.createQuery(query)
+            .getResultStream()
+            .map(ElectronicReceiptRepositoryImpl::toSummary)
+            .collect(Collectors.toMap(ReceiptResponseDto::getReceiptId, r -> r, (a, b) -> a));
+        
+        // IN 조회는 순서를 보장하지 않으므로 1단계 정렬 순서로 재배열
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * 목록 화면 컬럼만 선택 (영수증 - 거래 - 카드는 모두 단건 연관이므로 행 수가 늘지 않음)
+     */
+    private void selectSummary(CriteriaQuery<Tuple> query, SearchJoins joins) {
+        Root<ElectronicReceipt> receipt = joins.receipt;
+        query.multiselect(
+            receipt.get("receiptId").alias("receiptId"),
+            receipt.get("receiptNumber").alias("receiptNumber"),
+            receipt.get("receiptType").alias("receiptType"),
+            receipt.get("issueDate").alias("issueDate"),
+            receipt.get("receiptImageUrl").alias("receiptImageUrl"),
+            receipt.get("receiptPdfUrl").alias("receiptPdfUrl"),
+            receipt.get("isVerified").alias("isVerified"),
+            receipt.get("matchState").alias("matchState"),
+            joins.transaction().get("transactionDateTime").alias("transactionDate"),
+            joins.transaction().get("approvalNumber").alias("approvalNumber"),
+            joins.transaction().get("merchantName").alias("merchantName"),
+            joins.transaction().get("amount").alias("amount"),
+            joins.card().get("cardId").alias("cardId"),
+            joins.card().get("cardCompany").alias("cardCompany")
+        );
+    }
+    
+    private static ReceiptResponseDto toSummary(Tuple row) {
+        String imageUrl = row.get("receiptImageUrl", String.class);
+        String pdfUrl = row.get("receiptPdfUrl", String.class);
+        
+        return ReceiptResponseDto.builder()
+            .receiptId(row.get("receiptId", Long.class))
+            .receiptNumber(row.get("receiptNumber", String.class))
+            .receiptType(row.get("receiptType", ElectronicReceipt.ReceiptType.class).name())
+            .issueDate(row.get("issueDate", LocalDateTime.class))
+            .transactionDate(row.get("transactionDate", LocalDateTime.class))
+            .approvalNumber(row.get("approvalNumber", String.class))
+            .merchantName(row.get("merchantName", String.class))
+            .amount(row.get("amount", BigDecimal.class))
+            .cardId(row.get("cardId", Long.class))
+            .cardCompany(row.get("cardCompany", String.class))
+            .receiptImageUrl(imageUrl)
+            .receiptPdfUrl(pdfUrl)
+            .hasDocument(imageUrl != null || pdfUrl != null)
+            .isVerified(row.get("isVerified", Boolean.class))
+            .matchStatus(row.get("matchState", ElectronicReceipt.MatchState.class).name())
+            .build();
+    }
+    
+    private Path<?> getPath(SearchJoins joins, String property) {
         switch (property) {
             case "issueDate":
-                return root.get("issueDate");
+                return joins.receipt.get("issueDate");
             case "amount":
-                return root.get("transactionRecord").get("amount");
+                return joins.transaction().get("amount");
             case "merchantName":
-                return root.get("transactionRecord").get("merchantName");
+                return joins.transaction().get("merchantName");
             case "transactionDate":
-                return root.get("transactionRecord").get("transactionDateTime");
+                return joins.transaction().get("transactionDateTime");
             default:
                 return null;
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * 검색 조건/선택 컬럼에 필요한 경우에만 조인을 만든다 (건수 조회에 불필요한 조인 방지)
+     */
+    private static class SearchJoins {
+        private final Root<ElectronicReceipt> receipt;
+        private Join<?, ?> transaction;
+        private Join<?, ?> card;
+        
+        SearchJoins(Root<ElectronicReceipt> receipt) {
+            this.receipt = receipt;
+        }
+        
+        Join<?, ?> transaction() {
+            if (transaction == null) {
+                transaction = receipt.join("transactionRecord");
+            }
+            return transaction;
+        }
+        
+        Join<?, ?> card() {
+            if (card == null) {
+                card = transaction().join("cardInfo");
+            }
+            return card;
+        }
+    }
+}
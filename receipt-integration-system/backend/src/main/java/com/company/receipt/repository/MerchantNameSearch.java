@@ -0,0 +1,36 @@
+package com.company.receipt.repository;
+
+/**
+ * 가맹점명 부분 검색어 변환
+ * transaction_records.merchant_name 의 ngram FULLTEXT 인덱스(ft_merchant_name)로 찾을 수 있도록
+ * 검색어를 BOOLEAN MODE 구문(phrase) 검색식으로 바꾼다.
+ * ngram 토큰보다 짧은 검색어는 인덱스로 찾을 수 없으므로 null 을 반환하고 호출측에서 LIKE 로 처리한다.
+ */
+public final class MerchantNameSearch {
+    
+    // MySQL ngram_token_size 기본값과 동일해야 함
+    static final int NGRAM_TOKEN_SIZE = 2;
+    
+    private MerchantNameSearch() {
+    }
+    
+    public static String toFulltextQuery(String merchantName) {
+        if (merchantName == null) {
+            return null;
+        }
+        
+        // BOOLEAN MODE 연산자 제거 후 공백 정리
+        String term = merchantName.replaceAll("[+\\-<>()~*\"@]", " ")
+            .replaceAll("\\s+", " ")
+            .trim()
+            .toLowerCase();
+        
+        String compact = term.replace(" ", "");
+        if (compact.codePointCount(0, compact.length()) < NGRAM_TOKEN_SIZE) {
+            return null;
+        }
+        
+        // 구문 검색: ngram 토큰이 연속으로 나타나는 행만 일치 (부분 문자열 검색과 동일)
+        return "\"" + term + "\"";
+    }
+}
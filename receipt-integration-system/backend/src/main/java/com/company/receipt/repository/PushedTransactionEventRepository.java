@@ -0,0 +1,73 @@
+package com.company.receipt.repository;
+
+import com.company.receipt.domain.PushedTransactionEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PushedTransactionEventRepository extends JpaRepository<PushedTransactionEvent, Long> {
+    
+    long countByStatus(PushedTransactionEvent.EventStatus status);
+    
+    /**
+     * 반영 가능한 이벤트 조회 (다른 노드가 잠근 행은 건너뜀)
+     */
+    @Query(value = "SELECT * FROM pushed_transaction_events " +
+           "WHERE status = 'PENDING' " +
+           "AND next_attempt_at <= :now " +
+           "ORDER BY event_seq " +
+           "LIMIT :limit " +
+           "FOR UPDATE SKIP LOCKED", 
+           nativeQuery = true)
+    List<PushedTransactionEvent> findReadyForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    @Modifying
+    @Query("UPDATE PushedTransactionEvent e " +
+           "SET e.status = 'IN_PROGRESS', e.lockedBy = :nodeId, e.lockedAt = :now " +
+           "WHERE e.eventSeq IN :eventSeqs")
+    int markInProgress(
+        @Param("eventSeqs") List<Long> eventSeqs,
+        @Param("nodeId") String nodeId,
+        @Param("now") LocalDateTime now
+    );
+    
+    @Modifying
+    @Query("DELETE FROM PushedTransactionEvent e WHERE e.eventSeq IN :eventSeqs")
+    int deleteProcessed(@Param("eventSeqs") List<Long> eventSeqs);
+    
+    /**
+     * 실패 기록 (재시도 한도에 도달하면 FAILED 로 남겨 수동 확인)
+     * MySQL 은 SET 을 왼쪽부터 적용하므로 status 는 증가 전 attempts 기준으로 판단된다.
+     */
+    @Modifying
+    @Query(value = "UPDATE pushed_transaction_events " +
+           "SET status = IF(attempts + 1 >= :maxAttempts, 'FAILED', 'PENDING'), " +
+           "attempts = attempts + 1, next_attempt_at = :nextAttemptAt, locked_by = NULL, last_error = :error " +
+           "WHERE event_seq IN :eventSeqs", 
+           nativeQuery = true)
+    int markFailed(
+        @Param("eventSeqs") List<Long> eventSeqs,
+        @Param("maxAttempts") int maxAttempts,
+        @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+        @Param("error") String error
+    );
+    
+    /**
+     * 처리 중 노드가 중단되어 남은 이벤트 복구
+     * 매번 처리를 중단시키는 이벤트가 끝없이 회수되지 않도록 시도 횟수를 늘리고, 한도에 도달하면 FAILED 로 남긴다.
+     */
+    @Modifying
+    @Query(value = "UPDATE pushed_transaction_events " +
+           "SET status = IF(attempts + 1 >= :maxAttempts, 'FAILED', 'PENDING'), " +
+           "attempts = attempts + 1, locked_by = NULL, last_error = 'Lease expired while in progress' " +
+           "WHERE status = 'IN_PROGRESS' " +
+           "AND locked_at < :threshold", 
+           nativeQuery = true)
+    int recoverStale(@Param("threshold") LocalDateTime threshold, @Param("maxAttempts") int maxAttempts);
+}
@@ -0,0 +1,93 @@
+package com.company.receipt.repository;
+
+import com.company.receipt.domain.ReceiptDocument;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReceiptDocumentRepository extends JpaRepository<ReceiptDocument, String> {
+    
+    @Query(value = "SELECT d.* FROM receipt_documents d " +
+           "JOIN receipt_document_sources s ON s.document_hash = d.document_hash " +
+           "WHERE s.provider_document_id = :providerDocumentId", 
+           nativeQuery = true)
+    Optional<ReceiptDocument> findByProviderDocumentId(@Param("providerDocumentId") String providerDocumentId);
+    
+    /**
+     * 문서 등록 또는 참조 수 증가 (동시 다운로드에도 한 행만 유지)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO receipt_documents " +
+           "(document_hash, storage_location, content_type, file_size, ref_count, last_referenced_at) " +
+           "VALUES (:hash, :location, :contentType, :size, 1, NOW()) " +
+           "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, last_referenced_at = NOW()", 
+           nativeQuery = true)
+    int upsertReference(
+        @Param("hash") String hash,
+        @Param("location") String location,
+        @Param("contentType") String contentType,
+        @Param("size") long size
+    );
+    
+    @Modifying
+    @Query("UPDATE ReceiptDocument d " +
+           "SET d.refCount = d.refCount + 1, d.lastReferencedAt = CURRENT_TIMESTAMP " +
+           "WHERE d.documentHash = :hash")
+    int incrementReference(@Param("hash") String hash);
+    
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO receipt_document_sources (provider_document_id, document_hash) " +
+           "VALUES (:providerDocumentId, :hash)", 
+           nativeQuery = true)
+    int registerSource(@Param("providerDocumentId") String providerDocumentId, @Param("hash") String hash);
+    
+    @Query(value = "SELECT document_hash FROM receipt_documents " +
+           "WHERE document_hash > :afterHash " +
+           "ORDER BY document_hash " +
+           "LIMIT :limit", 
+           nativeQuery = true)
+    List<String> findHashesAfter(@Param("afterHash") String afterHash, @Param("limit") int limit);
+    
+    /**
+     * 영수증 URL 기준으로 참조 수 재계산 (지정한 문서만)
+     * URL 컬럼별 인덱스를 각각 타도록 두 조회로 나누고, 두 컬럼이 같은 문서를 가리키는 영수증은 한 번만 센다.
+     */
+    @Modifying
+    @Query(value = "UPDATE receipt_documents d SET d.ref_count = (" +
+           "(SELECT COUNT(*) FROM electronic_receipts r " +
+           " WHERE r.receipt_pdf_url = d.storage_location) + " +
+           "(SELECT COUNT(*) FROM electronic_receipts r " +
+           " WHERE r.receipt_image_url = d.storage_location " +
+           " AND (r.receipt_pdf_url IS NULL OR r.receipt_pdf_url <> d.storage_location))) " +
+           "WHERE d.document_hash IN :hashes", 
+           nativeQuery = true)
+    int reconcileReferenceCounts(@Param("hashes") List<String> hashes);
+    
+    @Query("SELECT d FROM ReceiptDocument d " +
+           "WHERE d.refCount = 0 " +
+           "AND d.lastReferencedAt < :threshold " +
+           "ORDER BY d.lastReferencedAt ASC")
+    List<ReceiptDocument> findUnreferencedBefore(@Param("threshold") LocalDateTime threshold, Pageable pageable);
+    
+    /**
+     * 삭제 전 재확인용 행 잠금 (잠금 동안 참조 증가/재등록은 대기)
+     */
+    @Query(value = "SELECT * FROM receipt_documents WHERE document_hash = :hash FOR UPDATE", nativeQuery = true)
+    Optional<ReceiptDocument> findByIdForUpdate(@Param("hash") String hash);
+    
+    @Modifying
+    @Query(value = "DELETE FROM receipt_document_sources WHERE document_hash = :hash", nativeQuery = true)
+    int deleteSources(@Param("hash") String hash);
+    
+    @Modifying
+    @Query("DELETE FROM ReceiptDocument d WHERE d.documentHash = :hash AND d.refCount = 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+}
@@ -0,0 +1,89 @@
+package com.company.receipt.repository;
+
+import com.company.receipt.domain.ReceiptDownloadJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReceiptDownloadJobRepository extends JpaRepository<ReceiptDownloadJob, Long> {
+    
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO receipt_download_jobs " +
+           "(receipt_id, card_company, status, attempts, next_attempt_at) " +
+           "VALUES (:receiptId, :cardCompany, 'PENDING', 0, :nextAttemptAt)", 
+           nativeQuery = true)
+    int enqueue(
+        @Param("receiptId") Long receiptId,
+        @Param("cardCompany") String cardCompany,
+        @Param("nextAttemptAt") LocalDateTime nextAttemptAt
+    );
+    
+    /**
+     * 처리 가능한 작업 조회 (다른 노드가 잠근 행은 건너뜀)
+     */
+    @Query(value = "SELECT * FROM receipt_download_jobs " +
+           "WHERE status = 'PENDING' " +
+           "AND next_attempt_at <= :now " +
+           "ORDER BY next_attempt_at " +
+           "LIMIT :limit " +
+           "FOR UPDATE SKIP LOCKED", 
+           nativeQuery = true)
+    List<ReceiptDownloadJob> findReadyForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    @Modifying
+    @Query("UPDATE ReceiptDownloadJob j " +
+           "SET j.status = 'IN_PROGRESS', j.lockedBy = :nodeId, j.lockedAt = :now " +
+           "WHERE j.jobId IN :jobIds")
+    int markInProgress(
+        @Param("jobIds") List<Long> jobIds,
+        @Param("nodeId") String nodeId,
+        @Param("now") LocalDateTime now
+    );
+    
+    @Modifying
+    @Query("UPDATE ReceiptDownloadJob j " +
+           "SET j.status = 'COMPLETED', j.attempts = j.attempts + 1, j.lockedBy = NULL, j.lastError = NULL " +
+           "WHERE j.jobId IN :jobIds")
+    int markCompleted(@Param("jobIds") List<Long> jobIds);
+    
+    /**
+     * 처리율 제한으로 보류된 작업 반환 (시도 횟수는 늘리지 않음)
+     */
+    @Modifying
+    @Query("UPDATE ReceiptDownloadJob j " +
+           "SET j.status = 'PENDING', j.nextAttemptAt = :nextAttemptAt, j.lockedBy = NULL " +
+           "WHERE j.jobId IN :jobIds")
+    int release(@Param("jobIds") List<Long> jobIds, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+    
+    @Modifying
+    @Query("UPDATE ReceiptDownloadJob j " +
+           "SET j.status = :status, j.attempts = j.attempts + 1, j.nextAttemptAt = :nextAttemptAt, " +
+           "j.lockedBy = NULL, j.lastError = :error " +
+           "WHERE j.jobId = :jobId")
+    int markFailed(
+        @Param("jobId") Long jobId,
+        @Param("status") ReceiptDownloadJob.JobStatus status,
+        @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+        @Param("error") String error
+    );
+    
+    /**
+     * 처리 중 노드가 중단되어 남은 작업 복구
+     * 매번 작업자를 중단시키는 작업이 끝없이 회수되지 않도록 시도 횟수를 늘리고, 한도에 도달하면 FAILED 로 남긴다.
+     * MySQL 은 SET 을 왼쪽부터 적용하므로 status 는 증가 전 attempts 기준으로 판단된다.
+     */
+    @Modifying
+    @Query(value = "UPDATE receipt_download_jobs " +
+           "SET status = IF(attempts + 1 >= :maxAttempts, 'FAILED', 'PENDING'), " +
+           "attempts = attempts + 1, locked_by = NULL, last_error = 'Lease expired while in progress' " +
+           "WHERE status = 'IN_PROGRESS' " +
+           "AND locked_at < :threshold", 
+           nativeQuery = true)
+    int recoverStale(@Param("threshold") LocalDateTime threshold, @Param("maxAttempts") int maxAttempts);
+}
@@ -0,0 +1,91 @@
+package com.company.receipt.repository;
+
+import com.company.receipt.dto.ReceiptResponseDto;
+import jakarta.validation.ConstraintViolationException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * 영수증 검색 커서 (마지막으로 반환한 행의 정렬 키와 receipt_id)
+ * 클라이언트에는 Base64URL 로 인코딩한 불투명 토큰으로만 전달한다.
+ */
+@Getter
+@AllArgsConstructor
+public class ReceiptSearchCursor {
+    
+    private static final String SEPARATOR = "|";
+    
+    private final String sortBy;
+    private final boolean ascending;
+    private final Long receiptId;
+    private final Object sortValue;
+    
+    /**
+     * 페이지 마지막 영수증 기준 커서 생성
+     */
+    public static ReceiptSearchCursor after(ReceiptResponseDto last, String sortBy, boolean ascending) {
+        Object value;
+        switch (sortBy) {
+            case "amount":
+                value = last.getAmount();
+                break;
+            case "merchantName":
+                value = last.getMerchantName();
+                break;
+            case "transactionDate":
+                value = last.getTransactionDate();
+                break;
+            default:
+                value = last.getIssueDate();
+        }
+        return new ReceiptSearchCursor(sortBy, ascending, last.getReceiptId(), value);
+    }
+    
+    public String encode() {
+        String raw = String.join(SEPARATOR, sortBy, ascending ? "A" : "D", 
+            receiptId.toString(), String.valueOf(sortValue));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 토큰 해석
+     * 정렬 조건이 요청과 다르면 이어서 조회할 수 없으므로 거부한다.
+     */
+    public static ReceiptSearchCursor decode(String token, String sortBy, boolean ascending) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // 가맹점명에 구분자가 있을 수 있으므로 정렬 값은 마지막에 두고 나머지를 통째로 사용
+            String[] parts = raw.split("\\|", 4);
+            
+            if (parts.length != 4 || !parts[0].equals(sortBy) || !parts[1].equals(ascending ? "A" : "D")) {
+                throw new IllegalArgumentException("Cursor does not match sort order");
+            }
+            
+            return new ReceiptSearchCursor(sortBy, ascending, Long.valueOf(parts[2]), parseValue(sortBy, parts[3]));
+            
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ConstraintViolationException("Invalid search cursor", Set.of());
+        }
+    }
+    
+    private static Object parseValue(String sortBy, String value) {
+        switch (sortBy) {
+            case "issueDate":
+            case "transactionDate":
+                return LocalDateTime.parse(value);
+            case "amount":
+                return new BigDecimal(value);
+            case "merchantName":
+                return value;
+            default:
+                throw new IllegalArgumentException("Unsupported sort key: " + sortBy);
+        }
+    }
+}
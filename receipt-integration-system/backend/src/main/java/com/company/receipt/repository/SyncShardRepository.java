@@ -0,0 +1,83 @@
+package com.company.receipt.repository;
+
+import com.company.receipt.domain.SyncShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface SyncShardRepository extends JpaRepository<SyncShard, Long> {
+    
+    boolean existsByRunDate(LocalDate runDate);
+    
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO sync_shards " +
+           "(run_date, shard_no, from_card_id, to_card_id, status, attempts, failed_cards) " +
+           "VALUES (:runDate, :shardNo, :fromCardId, :toCardId, 'PENDING', 0, 0)", 
+           nativeQuery = true)
+    int createShard(
+        @Param("runDate") LocalDate runDate,
+        @Param("shardNo") int shardNo,
+        @Param("fromCardId") Long fromCardId,
+        @Param("toCardId") Long toCardId
+    );
+    
+    /**
+     * 처리할 샤드 조회
+     * 대기 중이거나 임대가 만료된(처리 노드가 중단된) 샤드를 다른 노드가 잠근 행은 건너뛰고 가져온다.
+     */
+    @Query(value = "SELECT * FROM sync_shards " +
+           "WHERE run_date >= :sinceDate " +
+           "AND (status = 'PENDING' " +
+           "     OR (status = 'IN_PROGRESS' AND lease_expires_at < :now)) " +
+           "ORDER BY run_date, shard_no " +
+           "LIMIT 1 " +
+           "FOR UPDATE SKIP LOCKED", 
+           nativeQuery = true)
+    Optional<SyncShard> findClaimableForUpdate(
+        @Param("sinceDate") LocalDate sinceDate,
+        @Param("now") LocalDateTime now
+    );
+    
+    @Modifying
+    @Query("UPDATE SyncShard s " +
+           "SET s.status = 'IN_PROGRESS', s.leaseOwner = :nodeId, s.leaseExpiresAt = :leaseExpiresAt, " +
+           "s.attempts = s.attempts + 1 " +
+           "WHERE s.shardId = :shardId")
+    int claim(
+        @Param("shardId") Long shardId,
+        @Param("nodeId") String nodeId,
+        @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt
+    );
+    
+    /**
+     * 임대 연장 (다른 노드가 이미 가져간 경우 0 반환)
+     */
+    @Modifying
+    @Query("UPDATE SyncShard s SET s.leaseExpiresAt = :leaseExpiresAt " +
+           "WHERE s.shardId = :shardId " +
+           "AND s.status = 'IN_PROGRESS' " +
+           "AND s.leaseOwner = :nodeId")
+    int renewLease(
+        @Param("shardId") Long shardId,
+        @Param("nodeId") String nodeId,
+        @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt
+    );
+    
+    @Modifying
+    @Query("UPDATE SyncShard s " +
+           "SET s.status = 'COMPLETED', s.leaseExpiresAt = NULL, s.failedCards = :failedCards " +
+           "WHERE s.shardId = :shardId " +
+           "AND s.leaseOwner = :nodeId")
+    int complete(
+        @Param("shardId") Long shardId,
+        @Param("nodeId") String nodeId,
+        @Param("failedCards") int failedCards
+    );
+}
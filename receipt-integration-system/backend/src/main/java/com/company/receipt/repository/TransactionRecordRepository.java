@@ -5,12 +5,14 @@ import com.company.receipt.domain.TransactionRecord;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +23,14 @@ public interface TransactionRecordRepository extends JpaRepository<TransactionRe
     
     Optional<TransactionRecord> findByApprovalNumberAndCardInfo(String approvalNumber, CardInfo cardInfo);
     
+    @Query("SELECT t.approvalNumber FROM TransactionRecord t " +
+           "WHERE t.cardInfo.cardId = :cardId " +
+           "AND t.approvalNumber IN :approvalNumbers")
+    List<String> findExistingApprovalNumbers(
+        @Param("cardId") Long cardId,
+        @Param("approvalNumbers") Collection<String> approvalNumbers
+    );
+    
     @Query("SELECT t FROM TransactionRecord t " +
            "WHERE t.cardInfo.cardId = :cardId " +
            "AND t.transactionDateTime BETWEEN :startDate AND :endDate " +
@@ -41,10 +51,30 @@ public interface TransactionRecordRepository extends JpaRepository<TransactionRe
         Pageable pageable
     );
     
+    /**
+     * 사용자 거래 가맹점명 부분 검색 (ngram FULLTEXT 인덱스 사용, 짧은 검색어는 LIKE)
+     */
+    default List<TransactionRecord> findByMerchantNameContainingAndUserId(String merchantName, Long userId) {
+        String fulltextQuery = MerchantNameSearch.toFulltextQuery(merchantName);
+        return fulltextQuery != null
+            ? findByMerchantNameFulltextAndUserId(fulltextQuery, merchantName, userId)
+            : findByMerchantNameLikeAndUserId(merchantName, userId);
+    }
+    
+    @Query("SELECT t FROM TransactionRecord t " +
+           "WHERE merchant_match(t.merchantName, :fulltextQuery) > 0 " +
+           "AND LOWER(t.merchantName) LIKE LOWER(CONCAT('%', :merchantName, '%')) " +
+           "AND t.cardInfo.user.userId = :userId")
+    List<TransactionRecord> findByMerchantNameFulltextAndUserId(
+        @Param("fulltextQuery") String fulltextQuery,
+        @Param("merchantName") String merchantName,
+        @Param("userId") Long userId
+    );
+    
     @Query("SELECT t FROM TransactionRecord t " +
            "WHERE LOWER(t.merchantName) LIKE LOWER(CONCAT('%', :merchantName, '%')) " +
            "AND t.cardInfo.user.userId = :userId")
-    List<TransactionRecord> findByMerchantNameContainingAndUserId(
+    List<TransactionRecord> findByMerchantNameLikeAndUserId(
         @Param("merchantName") String merchantName,
         @Param("userId") Long userId
     );
@@ -133,4 +163,14 @@ public interface TransactionRecordRepository extends JpaRepository<TransactionRe
         @Param("dateThreshold") LocalDateTime dateThreshold,
         @Param("limit") int limit
     );
-}
\ No newline at end of file
+    
+    @Modifying
+    @Query("UPDATE TransactionRecord t SET t.transactionStatus = 'CANCELLED' " +
+           "WHERE t.cardInfo.cardId = :cardId " +
+           "AND t.approvalNumber IN :approvalNumbers " +
+           "AND t.transactionStatus = 'APPROVED'")
+    int markCancelled(
+        @Param("cardId") Long cardId,
+        @Param("approvalNumbers") Collection<String> approvalNumbers
+    );
+}
@@ -0,0 +1,87 @@
+package com.company.receipt.scheduler;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.company.receipt.config.NodeIdentity;
+import com.company.receipt.domain.CardInfo;
+import com.company.receipt.domain.SyncShard;
+import com.company.receipt.service.CardSyncCoordinator;
+import com.company.receipt.service.CardSyncQueue;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 일일 동기화 샤드 작업자
+ * 모든 노드에서 실행되며, 남은 샤드가 없을 때까지 하나씩 확보해 카드 동기화 전용 스레드 풀에서 처리한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CardSyncShardWorker {
+    
+    private final CardSyncCoordinator coordinator;
+    private final CardSyncQueue syncQueue;
+    private final NodeIdentity nodeIdentity;
+    private final Executor cardSyncExecutor;
+    
+    @Scheduled(fixedDelayString = "${receipt.sync.shard-poll-interval-ms:60000}")
+    public void processShards() {
+        String nodeId = nodeIdentity.getNodeId();
+        
+        Optional<SyncShard> shard;
+        while ((shard = coordinator.claimNext(nodeId)).isPresent()) {
+            processShard(shard.get(), nodeId);
+        }
+    }
+    
+    private void processShard(SyncShard shard, String nodeId) {
+        List<CardInfo> cards = coordinator.getShardCards(shard);
+        log.info("Processing sync shard {} #{} ({} cards) on {}", 
+            shard.getRunDate(), shard.getShardNo(), cards.size(), nodeId);
+        
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = cards.stream()
+            .map(card -> CompletableFuture.runAsync(() -> {
+                try {
+                    syncQueue.sync(card);
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                    log.error("Failed to sync receipts for card: {}", card.getCardId(), e);
+                }
+            }, cardSyncExecutor))
+            .collect(Collectors.toList());
+        
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+        
+        // 처리 중에는 주기적으로 임대를 연장해 다른 노드가 가져가지 않도록 함
+        while (true) {
+            try {
+                all.get(coordinator.getLeaseRenewIntervalMillis(), TimeUnit.MILLISECONDS);
+                break;
+            } catch (TimeoutException e) {
+                if (!coordinator.renewLease(shard.getShardId(), nodeId)) {
+                    log.warn("Lost lease on sync shard {} while processing", shard.getShardId());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                break;
+            }
+        }
+        
+        coordinator.complete(shard.getShardId(), nodeId, failed.get());
+    }
+}
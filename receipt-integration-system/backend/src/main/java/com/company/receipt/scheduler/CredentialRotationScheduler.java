@@ -0,0 +1,35 @@
+package com.company.receipt.scheduler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.company.receipt.service.CardService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+/**
+ * 암호화 키 교체 후 이전 키/기존 CBC 로 암호화된 카드 인증 정보를 점진적으로 재암호화
+ * 이전 키는 이 작업이 대상을 모두 처리할 때까지 encryption.keys 에 남겨 두어야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CredentialRotationScheduler {
+    
+    private final CardService cardService;
+    
+    @Value("${encryption.rotation.page-size:500}")
+    private int pageSize;
+    
+    @Scheduled(fixedDelayString = "${encryption.rotation.sweep-interval-ms:3600000}")
+    @SchedulerLock(name = "credentialRotation", lockAtMostFor = "30m", lockAtLeastFor = "1m")
+    public void reEncryptStaleCredentials() {
+        int rotated = cardService.reEncryptStaleCredentials(pageSize);
+        if (rotated > 0) {
+            log.info("Re-encrypted credentials for {} cards", rotated);
+        }
+    }
+}
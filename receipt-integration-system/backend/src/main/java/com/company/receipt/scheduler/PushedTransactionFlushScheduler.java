@@ -0,0 +1,29 @@
+package com.company.receipt.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.company.receipt.service.RealtimeIngestionService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 웹훅으로 접수한 거래 이벤트 저장
+ * 대기 테이블의 행을 SKIP LOCKED 로 나눠 가져가므로 ShedLock 없이 모든 노드에서 실행된다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PushedTransactionFlushScheduler {
+    
+    private final RealtimeIngestionService ingestionService;
+    
+    @Scheduled(fixedDelayString = "${receipt.webhook.flush-interval-ms:1000}")
+    public void flushPushedTransactions() {
+        int saved = ingestionService.flush();
+        if (saved > 0) {
+            log.debug("Saved {} pushed transactions", saved);
+        }
+    }
+}
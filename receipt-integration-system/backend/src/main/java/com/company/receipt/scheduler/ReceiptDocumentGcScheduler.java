@@ -0,0 +1,28 @@
+package com.company.receipt.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.company.receipt.service.ReceiptDocumentService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReceiptDocumentGcScheduler {
+    
+    private final ReceiptDocumentService documentService;
+    
+    @Scheduled(cron = "0 30 4 * * *") // 매일 새벽 4시 30분
+    @SchedulerLock(name = "receiptDocumentGc", lockAtMostFor = "30m", lockAtLeastFor = "1m")
+    public void collectUnreferencedDocuments() {
+        try {
+            documentService.collectGarbage();
+        } catch (Exception e) {
+            log.error("Receipt document GC failed", e);
+        }
+    }
+}
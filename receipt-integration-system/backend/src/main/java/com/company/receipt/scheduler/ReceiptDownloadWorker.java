@@ -0,0 +1,94 @@
+package com.company.receipt.scheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.company.receipt.config.NodeIdentity;
+import com.company.receipt.domain.ElectronicReceipt;
+import com.company.receipt.domain.ReceiptDownloadJob;
+import com.company.receipt.external.common.ProviderRateLimiter;
+import com.company.receipt.repository.ElectronicReceiptRepository;
+import com.company.receipt.service.ReceiptDocumentService;
+import com.company.receipt.service.ReceiptDownloadQueueService;
+import com.company.receipt.service.ReceiptDownloadQueueService.DownloadOutcome;
+import com.company.receipt.storage.StoredDocument;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 영수증 문서 다운로드 작업자
+ * 모든 노드에서 실행되며, 작업 확보는 DB 행 잠금으로 조정된다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReceiptDownloadWorker {
+    
+    private final ReceiptDownloadQueueService queueService;
+    private final ReceiptDocumentService documentService;
+    private final ElectronicReceiptRepository receiptRepository;
+    private final ProviderRateLimiter rateLimiter;
+    private final NodeIdentity nodeIdentity;
+    private final Executor receiptProcessingExecutor;
+    
+    @Value("${receipt.download.batch-size:50}")
+    private int batchSize;
+    
+    @Scheduled(fixedDelayString = "${receipt.download.poll-interval-ms:5000}")
+    public void processPendingDownloads() {
+        List<ReceiptDownloadJob> jobs = queueService.claimBatch(nodeIdentity.getNodeId(), batchSize);
+        if (jobs.isEmpty()) {
+            return;
+        }
+        
+        List<ReceiptDownloadJob> deferred = new ArrayList<>();
+        Duration deferDelay = Duration.ZERO;
+        List<CompletableFuture<DownloadOutcome>> futures = new ArrayList<>();
+        
+        for (ReceiptDownloadJob job : jobs) {
+            if (!rateLimiter.tryAcquire(job.getCardCompany())) {
+                deferred.add(job);
+                Duration wait = rateLimiter.timeUntilAvailable(job.getCardCompany());
+                deferDelay = wait.compareTo(deferDelay) > 0 ? wait : deferDelay;
+                continue;
+            }
+            futures.add(CompletableFuture.supplyAsync(() -> download(job), receiptProcessingExecutor));
+        }
+        
+        List<DownloadOutcome> outcomes = futures.stream()
+            .map(CompletableFuture::join)
+            .collect(Collectors.toList());
+        
+        queueService.completeBatch(outcomes, deferred, LocalDateTime.now().plus(deferDelay));
+    }
+    
+    private DownloadOutcome download(ReceiptDownloadJob job) {
+        try {
+            ElectronicReceipt receipt = receiptRepository.findByIdWithDetails(job.getReceiptId())
+                .orElseThrow(() -> new IllegalStateException("Receipt not found: " + job.getReceiptId()));
+            
+            StoredDocument document = documentService.acquire(receipt.getTransactionRecord());
+            if (document == null) {
+                return new DownloadOutcome(job.getJobId(), job.getReceiptId(), job.getAttempts(), 
+                    null, "Provider returned no document");
+            }
+            
+            return new DownloadOutcome(job.getJobId(), job.getReceiptId(), job.getAttempts(), document, null);
+            
+        } catch (Exception e) {
+            log.error("Failed to download receipt document: {}", job.getReceiptId(), e);
+            return new DownloadOutcome(job.getJobId(), job.getReceiptId(), job.getAttempts(), 
+                null, e.getMessage());
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package com.company.receipt.scheduler;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import com.company.receipt.domain.CardInfo;
-import com.company.receipt.service.CardService;
-import com.company.receipt.service.ReceiptService;
+import com.company.receipt.service.CardSyncCoordinator;
+import com.company.receipt.service.CardSyncQueue;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,44 +23,40 @@ import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 @Slf4j
 public class ReceiptSyncScheduler {
     
-    private final CardService cardService;
-    private final ReceiptService receiptService;
+    private final CardSyncCoordinator syncCoordinator;
+    private final CardSyncQueue syncQueue;
+    private final Executor cardSyncExecutor;
+    
+    @Value("${receipt.sync.queue-batch-size:200}")
+    private int queueBatchSize;
     
     @Scheduled(cron = "0 0 2 * * *") // 매일 새벽 2시
-    @SchedulerLock(name = "receiptDailySync", lockAtMostFor = "1h", lockAtLeastFor = "5m")
+    @SchedulerLock(name = "receiptDailySync", lockAtMostFor = "10m", lockAtLeastFor = "1m")
     public void syncDailyReceipts() {
-        log.info("Starting daily receipt sync at {}", LocalDateTime.now());
-        
-        List<CardInfo> activeCards = cardService.getActiveCards();
-        log.info("Found {} active cards for sync", activeCards.size());
-        
-        activeCards.parallelStream().forEach(card -> {
-            try {
-                receiptService.syncReceiptsForCard(card);
-            } catch (Exception e) {
-                log.error("Failed to sync receipts for card: {}", card.getCardId(), e);
-            }
-        });
-        
-        log.info("Daily receipt sync completed at {}", LocalDateTime.now());
+        // 샤드만 생성하고, 실제 동기화는 각 노드의 CardSyncShardWorker 가 나눠 처리
+        log.info("Planning daily receipt sync at {}", LocalDateTime.now());
+        syncCoordinator.planRun(LocalDate.now());
     }
     
-    @Scheduled(cron = "0 */30 * * * *") // 30분마다
-    @SchedulerLock(name = "receiptRealtimeSync", lockAtMostFor = "10m", lockAtLeastFor = "1m")
+    @Scheduled(fixedDelayString = "${receipt.sync.queue-poll-interval-ms:300000}")
+    @SchedulerLock(name = "receiptRealtimeSync", lockAtMostFor = "30m", lockAtLeastFor = "1m")
     public void syncRealtimeReceipts() {
-        // 실시간 동기화가 필요한 카드만 처리
-        List<CardInfo> realtimeSyncCards = cardService.getRealtimeSyncCards();
+        // 우선순위 큐에서 동기화 시점이 된 카드만 처리 (웹훅으로 거래를 받는 카드사는 제외됨)
+        List<CardInfo> dueCards = syncQueue.pollDue(queueBatchSize);
         
-        if (!realtimeSyncCards.isEmpty()) {
-            log.info("Starting realtime sync for {} cards", realtimeSyncCards.size());
+        if (!dueCards.isEmpty()) {
+            log.info("Starting queued sync for {} cards", dueCards.size());
             
-            realtimeSyncCards.forEach(card -> {
-                try {
-                    receiptService.syncReceiptsForCard(card);
-                } catch (Exception e) {
-                    log.error("Failed realtime sync for card: {}", card.getCardId(), e);
-                }
-            });
+            CompletableFuture.allOf(dueCards.stream()
+                .map(card -> CompletableFuture.runAsync(() -> {
+                    try {
+                        syncQueue.sync(card);
+                    } catch (Exception e) {
+                        log.error("Failed queued sync for card: {}", card.getCardId(), e);
+                    }
+                }, cardSyncExecutor))
+                .toArray(CompletableFuture[]::new))
+                .join();
         }
     }
-}
\ No newline at end of file
+}
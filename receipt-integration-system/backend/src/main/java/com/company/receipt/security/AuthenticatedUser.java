@@ -0,0 +1,50 @@
+package com.company.receipt.security;
+
+import java.io.Serializable;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.company.receipt.domain.User;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 인증된 사용자 요약 (토큰당 한 번 해석해 SecurityContext principal 로 사용)
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class AuthenticatedUser implements Serializable {
+    
+    private final Long userId;
+    private final String erpUserId;
+    private final String username;
+    private final String email;
+    private final Set<String> roles;
+    
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(
+            user.getUserId(),
+            user.getErpUserId(),
+            user.getUsername(),
+            user.getEmail(),
+            user.getRoles() != null 
+                ? user.getRoles().stream().map(Enum::name).collect(Collectors.toUnmodifiableSet()) 
+                : Set.of()
+        );
+    }
+    
+    /**
+     * 연관관계(FK) 지정용 User 인스턴스 (조회 없이 식별자와 ERP 연동/응답 변환에 필요한 값만 채움)
+     */
+    public User toReference() {
+        return User.builder()
+            .userId(userId)
+            .erpUserId(erpUserId)
+            .username(username)
+            .email(email)
+            .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.company.receipt.security;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.company.receipt.domain.User;
+import com.company.receipt.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 현재 사용자/SYSTEM 사용자 해석
+ * JWT 인증 계층이 AuthenticatedUser 를 principal 로 넣으면 그대로 사용하고,
+ * 사용자명만 있는 경우에는 사용자명 기준 단기 캐시로 해석한 뒤 SecurityContext 의 principal 을 교체해
+ * 같은 요청에서 다시 조회하지 않도록 한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CurrentUserProvider {
+    
+    public static final String SYSTEM_USERNAME = "SYSTEM";
+    
+    private final UserRepository userRepository;
+    
+    @Value("${receipt.security.principal-cache.ttl-seconds:300}")
+    private long principalCacheTtlSeconds;
+    
+    @Value("${receipt.security.principal-cache.maximum-size:10000}")
+    private long principalCacheMaximumSize;
+    
+    private Cache<String, AuthenticatedUser> principals;
+    
+    private volatile AuthenticatedUser systemUser;
+    
+    @PostConstruct
+    public void init() {
+        principals = Caffeine.newBuilder()
+            .maximumSize(principalCacheMaximumSize)
+            .expireAfterWrite(Duration.ofSeconds(principalCacheTtlSeconds))
+            .build();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void resolveSystemUser() {
+        userRepository.findByUsername(SYSTEM_USERNAME)
+            .map(AuthenticatedUser::from)
+            .ifPresentOrElse(
+                user -> systemUser = user,
+                () -> log.warn("System user '{}' not found; auto matching will fail until it exists", SYSTEM_USERNAME)
+            );
+    }
+    
+    public AuthenticatedUser getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new AuthenticationCredentialsNotFoundException("No authenticated user");
+        }
+        
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof AuthenticatedUser) {
+            return (AuthenticatedUser) principal;
+        }
+        
+        AuthenticatedUser user = principal instanceof User 
+            ? AuthenticatedUser.from((User) principal) 
+            : principals.get(authentication.getName(), this::loadByUsername);
+        
+        // 이후 같은 요청에서는 principal 에서 바로 읽도록 교체
+        UsernamePasswordAuthenticationToken resolved = new UsernamePasswordAuthenticationToken(
+            user, authentication.getCredentials(), authentication.getAuthorities());
+        resolved.setDetails(authentication.getDetails());
+        SecurityContextHolder.getContext().setAuthentication(resolved);
+        
+        return user;
+    }
+    
+    public AuthenticatedUser getSystemUser() {
+        AuthenticatedUser user = systemUser;
+        if (user == null) {
+            resolveSystemUser();
+            user = systemUser;
+        }
+        if (user == null) {
+            throw new IllegalStateException("System user not found");
+        }
+        return user;
+    }
+    
+    private AuthenticatedUser loadByUsername(String username) {
+        return userRepository.findByUsername(username)
+            .map(AuthenticatedUser::from)
+            .orElseThrow(() -> new AuthenticationCredentialsNotFoundException("User not found: " + username));
+    }
+}
@@ -7,21 +7,34 @@ import com.company.receipt.exception.CardAlreadyExistsException;
 import com.company.receipt.exception.CardNotFoundException;
 import com.company.receipt.exception.InvalidCardCredentialsException;
 import com.company.receipt.external.CardApiAggregatorService;
+import com.company.receipt.external.common.ProviderRateLimiter;
 import com.company.receipt.repository.CardInfoRepository;
 import com.company.receipt.repository.UserRepository;
 import com.company.receipt.util.CardNumberUtil;
+import com.company.receipt.util.CredentialCache;
 import com.company.receipt.util.EncryptionUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,9 +46,25 @@ public class CardService {
     private final CardInfoRepository cardInfoRepository;
     private final UserRepository userRepository;
     private final EncryptionUtil encryptionUtil;
+    private final CredentialCache credentialCache;
     private final CardApiAggregatorService cardApiAggregatorService;
+    private final ProviderRateLimiter rateLimiter;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor cardImportExecutor;
+    
+    @Value("${receipt.card-import.max-rows:5000}")
+    private int importMaxRows;
+    
+    @Value("${receipt.card-import.insert-batch-size:100}")
+    private int importInsertBatchSize;
+    
+    @Value("${receipt.card-import.max-rate-limit-wait-seconds:60}")
+    private long importMaxRateLimitWaitSeconds;
     
     @Transactional
+    @CacheEvict(value = {"userCards", "cardStatistics"}, key = "#userId")
     public CardResponseDto registerCard(Long userId, CardRegistrationDto registrationDto) {
         log.info("Registering new card for user: {}", userId);
         
@@ -70,8 +99,147 @@ public class CardService {
         return convertToDto(savedCard);
     }
     
+    /**
+     * 카드 대량 등록
+     * 로컬 검증(형식/Luhn/파일 내 중복) 후 기존 등록 여부를 한 번의 쿼리로 확인하고,
+     * 남은 행만 카드사 처리율 한도 안에서 병렬 검증한 뒤 배치 단위 트랜잭션으로 저장한다.
+     * 대기 한도를 넘겨 검증하지 못한 행은 RATE_LIMITED 로 보고하며, 같은 파일을 다시 올리면 등록된 행은 중복으로 건너뛴다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(value = {"userCards", "cardStatistics"}, key = "#userId")
+    public CardImportResultDto importCards(Long userId, List<CardRegistrationDto> rows) {
+        long startedAt = System.currentTimeMillis();
+        log.info("Importing {} cards for user: {}", rows.size(), userId);
+        
+        if (rows.size() > importMaxRows) {
+            throw new IllegalArgumentException("Too many rows: " + rows.size() + " (max " + importMaxRows + ")");
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+        
+        List<CardImportResultDto.RowResult> results = new ArrayList<>(rows.size());
+        Map<String, Integer> firstRowByMasked = new HashMap<>();
+        List<Integer> candidates = new ArrayList<>();
+        
+        // 1. 로컬 검증 (DB/카드사 호출 없음)
+        for (int i = 0; i < rows.size(); i++) {
+            CardRegistrationDto row = rows.get(i);
+            CardImportResultDto.RowResult result = CardImportResultDto.RowResult.builder()
+                .rowNumber(i + 1)
+                .build();
+            results.add(result);
+            
+            Set<ConstraintViolation<CardRegistrationDto>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                reject(result, CardImportResultDto.RowStatus.INVALID, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+                continue;
+            }
+            if (!CardNumberUtil.isValidCardNumber(row.getCardNumber())) {
+                reject(result, CardImportResultDto.RowStatus.INVALID, "카드번호가 유효하지 않습니다");
+                continue;
+            }
+            
+            String masked = CardNumberUtil.maskCardNumber(row.getCardNumber());
+            result.setCardNumberMasked(masked);
+            
+            Integer firstRow = firstRowByMasked.putIfAbsent(masked, i + 1);
+            if (firstRow != null) {
+                reject(result, CardImportResultDto.RowStatus.DUPLICATE, "파일 내 중복 카드입니다 (행 " + firstRow + ")");
+                continue;
+            }
+            candidates.add(i);
+        }
+        
+        // 2. 기존 등록 카드 중복 체크 (한 번의 IN 조회)
+        if (!candidates.isEmpty()) {
+            Set<String> registered = new HashSet<>(
+                cardInfoRepository.findRegisteredMaskedNumbers(userId, firstRowByMasked.keySet()));
+            candidates.removeIf(i -> {
+                if (registered.contains(results.get(i).getCardNumberMasked())) {
+                    reject(results.get(i), CardImportResultDto.RowStatus.DUPLICATE, "이미 등록된 카드입니다");
+                    return true;
+                }
+                return false;
+            });
+        }
+        
+        // 3. 카드사 검증 병렬 호출 (토큰은 제출 전에 받아 카드사별 처리율 유지)
+        Map<Integer, CompletableFuture<String>> validations = new LinkedHashMap<>();
+        long waitDeadline = System.nanoTime() + Duration.ofSeconds(importMaxRateLimitWaitSeconds).toNanos();
+        for (Integer i : candidates) {
+            CardRegistrationDto row = rows.get(i);
+            if (!acquireProviderPermit(row.getCardCompany(), waitDeadline)) {
+                reject(results.get(i), CardImportResultDto.RowStatus.RATE_LIMITED, "카드사 호출 한도 초과, 다시 요청해 주세요");
+                continue;
+            }
+            validations.put(i, CompletableFuture.supplyAsync(() -> validateAndEncrypt(row), cardImportExecutor));
+        }
+        
+        List<Integer> accepted = new ArrayList<>(validations.size());
+        Map<Integer, String> encryptedCredentials = new HashMap<>();
+        validations.forEach((i, future) -> {
+            try {
+                String encrypted = future.join();
+                if (encrypted == null) {
+                    reject(results.get(i), CardImportResultDto.RowStatus.REJECTED, "카드 정보가 유효하지 않습니다");
+                } else {
+                    encryptedCredentials.put(i, encrypted);
+                    accepted.add(i);
+                }
+            } catch (Exception e) {
+                log.error("Card validation failed for import row: {}", i + 1, e);
+                reject(results.get(i), CardImportResultDto.RowStatus.FAILED, "카드 검증 중 오류가 발생했습니다");
+            }
+        });
+        
+        // 4. 배치 저장 (풀링 ID 로 INSERT 가 JDBC 배치로 전송됨)
+        for (int from = 0; from < accepted.size(); from += importInsertBatchSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + importInsertBatchSize, accepted.size()));
+            try {
+                List<CardInfo> saved = transactionTemplate.execute(status -> {
+                    User user = entityManager.getReference(User.class, userId);
+                    List<CardInfo> cards = cardInfoRepository.saveAll(chunk.stream()
+                        .map(i -> buildImportedCard(user, rows.get(i), results.get(i).getCardNumberMasked(), 
+                            encryptedCredentials.get(i)))
+                        .collect(Collectors.toList()));
+                    entityManager.flush();
+                    entityManager.clear();
+                    return cards;
+                });
+                
+                for (int k = 0; k < chunk.size(); k++) {
+                    CardImportResultDto.RowResult result = results.get(chunk.get(k));
+                    result.setStatus(CardImportResultDto.RowStatus.REGISTERED);
+                    result.setCardId(saved.get(k).getCardId());
+                }
+            } catch (Exception e) {
+                log.error("Failed to save imported cards (rows {}..{})", chunk.get(0) + 1, chunk.get(chunk.size() - 1) + 1, e);
+                chunk.forEach(i -> reject(results.get(i), CardImportResultDto.RowStatus.FAILED, "카드 저장 중 오류가 발생했습니다"));
+            }
+        }
+        
+        int registered = (int) results.stream()
+            .filter(result -> result.getStatus() == CardImportResultDto.RowStatus.REGISTERED)
+            .count();
+        long elapsedMillis = System.currentTimeMillis() - startedAt;
+        log.info("Card import completed for user: {} ({} / {} registered, {} ms)", 
+            userId, registered, rows.size(), elapsedMillis);
+        
+        return CardImportResultDto.builder()
+            .totalRows(rows.size())
+            .registeredCount(registered)
+            .failedCount(rows.size() - registered)
+            .processingTimeMillis(elapsedMillis)
+            .rows(results)
+            .build();
+    }
+    
     @Transactional
-    @CacheEvict(value = "userCards", key = "#userId")
+    @CacheEvict(value = {"userCards", "cardStatistics"}, key = "#userId")
     public void updateCard(Long userId, Long cardId, CardUpdateDto updateDto) {
         CardInfo cardInfo = cardInfoRepository.findById(cardId)
             .orElseThrow(() -> new CardNotFoundException("Card not found"));
@@ -88,7 +256,9 @@ public class CardService {
             // 새로운 인증 정보 검증
             validateAuthCredentials(cardInfo.getCardCompany(), updateDto.getAuthCredentials());
             cardInfo.setAuthCredentials(encryptionUtil.encrypt(updateDto.getAuthCredentials()));
+            cardInfo.setCredentialsVersion(cardInfo.getCredentialsVersion() + 1);
             cardInfo.setSyncStatus(null); // 재인증 필요
+            credentialCache.invalidate(cardId);
         }
         
         cardInfoRepository.save(cardInfo);
@@ -96,7 +266,7 @@ public class CardService {
     }
     
     @Transactional
-    @CacheEvict(value = "userCards", key = "#userId")
+    @CacheEvict(value = {"userCards", "cardStatistics"}, key = "#userId")
     public void deactivateCard(Long userId, Long cardId) {
         CardInfo cardInfo = cardInfoRepository.findById(cardId)
             .orElseThrow(() -> new CardNotFoundException("Card not found"));
@@ -111,7 +281,7 @@ public class CardService {
         log.info("Card deactivated: {}", cardId);
     }
     
-    @Cacheable(value = "userCards", key = "#userId")
+    @Cacheable(value = "userCards", key = "#userId", sync = true)
     public List<CardResponseDto> getUserCards(Long userId) {
         List<CardInfo> cards = cardInfoRepository.findActiveCardsByUserId(userId);
         return cards.stream()
@@ -130,17 +300,28 @@ public class CardService {
         return convertToDetailDto(cardInfo);
     }
     
-    public List<CardInfo> getActiveCards() {
-        return cardInfoRepository.findAll().stream()
-            .filter(CardInfo::getIsActive)
-            .collect(Collectors.toList());
-    }
-    
-    public List<CardInfo> getRealtimeSyncCards() {
-        // 실시간 동기화가 필요한 카드 조회
-        // 예: 법인카드, 최근 거래가 많은 카드 등
-        LocalDateTime recentThreshold = LocalDateTime.now().minusHours(1);
-        return cardInfoRepository.findActiveCardsWithRecentTransactions(recentThreshold);
+    /**
+     * 활성 카드를 카드 ID 순 키셋 페이지로 전달
+     * 페이지 단위로만 메모리에 올리므로 카드 수가 늘어도 사용량이 일정하다.
+     */
+    public int forEachActiveCardPage(int pageSize, Consumer<List<ActiveCardSyncDto>> pageConsumer) {
+        PageRequest limit = PageRequest.of(0, pageSize);
+        long afterCardId = 0L;
+        int total = 0;
+        
+        List<ActiveCardSyncDto> page;
+        do {
+            page = cardInfoRepository.findActiveCardPage(afterCardId, limit);
+            if (page.isEmpty()) {
+                break;
+            }
+            
+            pageConsumer.accept(page);
+            total += page.size();
+            afterCardId = page.get(page.size() - 1).getCardId();
+        } while (page.size() == pageSize);
+        
+        return total;
     }
     
     public List<CardInfo> getCardsNeedingSync() {
@@ -153,6 +334,7 @@ public class CardService {
         cardInfoRepository.updateSyncStatus(cardId, status, LocalDateTime.now());
     }
     
+    @Cacheable(value = "cardStatistics", key = "#userId", sync = true)
     public CardStatisticsDto getCardStatistics(Long userId) {
         List<CardInfo> userCards = cardInfoRepository.findActiveCardsByUserId(userId);
         
@@ -176,6 +358,39 @@ public class CardService {
             .build();
     }
     
+    /**
+     * 이전 키로 암호화된 카드 인증 정보를 활성 키로 재암호화
+     * 페이지마다 조회 후 건별로 교체하며, 그 사이 수정된 카드는 건너뛴다 (다음 실행에서 다시 확인).
+     * 교체는 건마다 별도 트랜잭션으로 커밋되도록 트랜잭션 없이 실행한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int reEncryptStaleCredentials(int pageSize) {
+        String activePrefix = encryptionUtil.getActiveKeyPrefix();
+        long afterCardId = 0L;
+        int rotated = 0;
+        List<Object[]> page;
+        
+        do {
+            page = cardInfoRepository.findCredentialsNotEncryptedWith(
+                activePrefix, afterCardId, PageRequest.of(0, pageSize));
+            
+            for (Object[] row : page) {
+                Long cardId = (Long) row[0];
+                String credentials = (String) row[1];
+                afterCardId = cardId;
+                
+                try {
+                    rotated += cardInfoRepository.replaceAuthCredentials(
+                        cardId, credentials, encryptionUtil.reEncrypt(credentials));
+                } catch (Exception e) {
+                    log.error("Failed to re-encrypt credentials for card: {}", cardId, e);
+                }
+            }
+        } while (page.size() == pageSize);
+        
+        return rotated;
+    }
+    
     private void validateCardWithProvider(CardRegistrationDto registrationDto) {
         try {
             boolean isValid = cardApiAggregatorService.validateCard(
@@ -193,6 +408,48 @@ public class CardService {
         }
     }
     
+    /**
+     * 카드사 검증 후 인증 정보 암호화 (거부되면 null)
+     */
+    private String validateAndEncrypt(CardRegistrationDto row) {
+        boolean isValid = cardApiAggregatorService.validateCard(
+            row.getCardCompany(),
+            row.getCardNumber(),
+            row.getAuthCredentials()
+        );
+        return isValid ? encryptionUtil.encrypt(row.getAuthCredentials()) : null;
+    }
+    
+    private boolean acquireProviderPermit(String cardCompany, long waitDeadlineNanos) {
+        try {
+            return rateLimiter.acquire(cardCompany, 
+                Duration.ofNanos(Math.max(0, waitDeadlineNanos - System.nanoTime())));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private CardInfo buildImportedCard(User user, CardRegistrationDto row, String maskedCardNumber, 
+                                       String encryptedCredentials) {
+        return CardInfo.builder()
+            .user(user)
+            .cardCompany(row.getCardCompany())
+            .cardNumberMasked(maskedCardNumber)
+            .cardAlias(row.getCardAlias())
+            .cardType(CardInfo.CardType.valueOf(row.getCardType()))
+            .authType(row.getAuthType())
+            .authCredentials(encryptedCredentials)
+            .isActive(true)
+            .build();
+    }
+    
+    private static void reject(CardImportResultDto.RowResult result, CardImportResultDto.RowStatus status, 
+                               String message) {
+        result.setStatus(status);
+        result.setMessage(message);
+    }
+    
     private void validateAuthCredentials(String cardCompany, String authCredentials) {
         // 카드사별 인증 정보 검증 로직
         // 실제 구현시 카드사 API 호출
@@ -0,0 +1,97 @@
+package com.company.receipt.service;
+
+import com.company.receipt.domain.CardInfo;
+import com.company.receipt.domain.SyncShard;
+import com.company.receipt.repository.CardInfoRepository;
+import com.company.receipt.repository.SyncShardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 일일 동기화 샤드 관리
+ * 활성 카드를 카드 ID 구간 단위 샤드로 나눠 DB 에 기록하고, 각 노드는 임대(lease) 방식으로 샤드를 가져간다.
+ * 임대가 만료된 샤드는 처리 노드가 중단된 것으로 보고 다른 노드가 다시 가져간다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class CardSyncCoordinator {
+    
+    private final SyncShardRepository shardRepository;
+    private final CardInfoRepository cardInfoRepository;
+    private final CardService cardService;
+    
+    @Value("${receipt.sync.shard-size:100}")
+    private int shardSize;
+    
+    @Value("${receipt.sync.lease-minutes:15}")
+    private long leaseMinutes;
+    
+    /**
+     * 실행일 기준 샤드 생성 (이미 생성된 실행일은 건너뜀)
+     */
+    @Transactional
+    public int planRun(LocalDate runDate) {
+        if (shardRepository.existsByRunDate(runDate)) {
+            log.info("Sync shards already planned for {}", runDate);
+            return 0;
+        }
+        
+        // 키셋 페이지 하나가 샤드 하나 (페이지의 첫/마지막 카드 ID 가 샤드 구간)
+        AtomicInteger shardNo = new AtomicInteger();
+        int cardCount = cardService.forEachActiveCardPage(shardSize, page -> shardRepository.createShard(
+            runDate,
+            shardNo.getAndIncrement(),
+            page.get(0).getCardId(),
+            page.get(page.size() - 1).getCardId()));
+        
+        log.info("Planned {} sync shards for {} active cards ({})", shardNo.get(), cardCount, runDate);
+        return shardNo.get();
+    }
+    
+    /**
+     * 처리할 샤드 확보
+     * 전날 실행분까지 대상으로 하여 자정 무렵 남은 샤드도 이어서 처리한다.
+     */
+    @Transactional
+    public Optional<SyncShard> claimNext(String nodeId) {
+        LocalDateTime now = LocalDateTime.now();
+        
+        Optional<SyncShard> shard = shardRepository.findClaimableForUpdate(now.toLocalDate().minusDays(1), now);
+        shard.ifPresent(s -> shardRepository.claim(s.getShardId(), nodeId, now.plusMinutes(leaseMinutes)));
+        
+        return shard;
+    }
+    
+    @Transactional
+    public boolean renewLease(Long shardId, String nodeId) {
+        return shardRepository.renewLease(shardId, nodeId, LocalDateTime.now().plusMinutes(leaseMinutes)) > 0;
+    }
+    
+    @Transactional
+    public void complete(Long shardId, String nodeId, int failedCards) {
+        if (shardRepository.complete(shardId, nodeId, failedCards) == 0) {
+            log.warn("Sync shard {} was reassigned before completion on {}", shardId, nodeId);
+        }
+    }
+    
+    public List<CardInfo> getShardCards(SyncShard shard) {
+        return cardInfoRepository.findActiveCardsInRange(
+            shard.getFromCardId(), shard.getToCardId(), LocalDateTime.now());
+    }
+    
+    public long getLeaseRenewIntervalMillis() {
+        // 만료 전에 여유 있게 연장
+        return leaseMinutes * 60_000L / 3;
+    }
+}
@@ -0,0 +1,118 @@
+package com.company.receipt.service;
+
+import com.company.receipt.domain.CardInfo;
+import com.company.receipt.dto.CardSyncResultDto;
+import com.company.receipt.external.CardApiAggregatorService;
+import com.company.receipt.repository.CardInfoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 카드 동기화 우선순위 큐
+ * 카드별 다음 동기화 시점은 최근 거래 빈도로 정하고, 실패가 이어지면 지수 백오프로 미룬다.
+ * 대상 카드는 카드사별로 나눠 뽑은 뒤 번갈아 배치해, 한 카드사가 처리량을 독점하지 않도록 한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class CardSyncQueue {
+    
+    private final CardInfoRepository cardInfoRepository;
+    private final CardApiAggregatorService cardApiAggregatorService;
+    private final ReceiptService receiptService;
+    
+    @Value("${receipt.sync.min-interval-minutes:30}")
+    private long minIntervalMinutes;
+    
+    @Value("${receipt.sync.max-interval-minutes:1440}")
+    private long maxIntervalMinutes;
+    
+    @Value("${receipt.sync.failure-backoff-minutes:15}")
+    private long failureBackoffMinutes;
+    
+    @Value("${receipt.sync.provider-quota:50}")
+    private int providerQuota;
+    
+    private static final double RATE_SMOOTHING = 0.3;
+    
+    /**
+     * 동기화 대상 카드 조회
+     * 웹훅으로 거래를 받는 카드사는 제외하고, 카드사별 최대 providerQuota 건을 라운드 로빈으로 섞어 반환한다.
+     */
+    public List<CardInfo> pollDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        
+        List<Iterator<CardInfo>> perProvider = new ArrayList<>();
+        for (String cardCompany : cardInfoRepository.findCardCompaniesWithDueCards(now)) {
+            if (cardApiAggregatorService.supportsPushNotification(cardCompany)) {
+                continue;
+            }
+            perProvider.add(cardInfoRepository
+                .findDueCardsByCompany(cardCompany, now, Math.min(providerQuota, limit))
+                .iterator());
+        }
+        
+        List<CardInfo> due = new ArrayList<>(limit);
+        while (due.size() < limit && !perProvider.isEmpty()) {
+            Iterator<Iterator<CardInfo>> providers = perProvider.iterator();
+            while (providers.hasNext() && due.size() < limit) {
+                Iterator<CardInfo> cards = providers.next();
+                if (cards.hasNext()) {
+                    due.add(cards.next());
+                } else {
+                    providers.remove();
+                }
+            }
+        }
+        
+        return due;
+    }
+    
+    /**
+     * 카드 동기화 후 결과에 따라 다음 동기화 시점 갱신
+     * 트랜잭션 없이 실행해 동기화(배치별 커밋)와 결과 기록이 각자의 짧은 트랜잭션으로 커밋되도록 한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void sync(CardInfo card) {
+        try {
+            CardSyncResultDto result = receiptService.syncReceiptsForCard(card);
+            recordSuccess(card, result);
+        } catch (RuntimeException e) {
+            recordFailure(card);
+            throw e;
+        }
+    }
+    
+    private void recordSuccess(CardInfo card, CardSyncResultDto result) {
+        LocalDateTime now = LocalDateTime.now();
+        
+        // 실제 조회 구간 대비 새로 저장된 거래 건수로 일평균을 구하고 이전 값과 지수 이동 평균
+        // (겹쳐 조회하거나 다시 받은 중복 건은 빈도에 넣지 않음)
+        double days = Math.max(Duration.between(result.getFromDate(), result.getToDate()).toMinutes() / 1440.0, 1.0 / 24);
+        double previous = card.getRecentTxRate() != null ? card.getRecentTxRate() : 0.0;
+        double rate = RATE_SMOOTHING * (result.getInsertedCount() / days) + (1 - RATE_SMOOTHING) * previous;
+        
+        long intervalMinutes = Math.max(minIntervalMinutes, 
+            Math.min(maxIntervalMinutes, (long) (maxIntervalMinutes / (1 + rate))));
+        
+        cardInfoRepository.recordSyncSuccess(card.getCardId(), rate, now.plusMinutes(intervalMinutes));
+    }
+    
+    private void recordFailure(CardInfo card) {
+        int failures = card.getConsecutiveFailures() != null ? card.getConsecutiveFailures() : 0;
+        long backoffMinutes = Math.min(maxIntervalMinutes, failureBackoffMinutes << Math.min(failures, 16));
+        
+        cardInfoRepository.recordSyncFailure(card.getCardId(), LocalDateTime.now().plusMinutes(backoffMinutes));
+        log.warn("Card {} sync failed {} times in a row, next attempt in {} minutes", 
+            card.getCardId(), failures + 1, backoffMinutes);
+    }
+}
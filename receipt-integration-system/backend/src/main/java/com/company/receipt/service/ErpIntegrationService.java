@@ -1,9 +1,12 @@
 package com.company.receipt.service;
 
+import com.company.receipt.config.ReceiptMetrics;
 import com.company.receipt.domain.AccountingMatch;
+import io.micrometer.core.instrument.Timer;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.*;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
@@ -22,6 +25,7 @@ import java.util.stream.Collectors;
 public class ErpIntegrationService {
     
     private final RestTemplate restTemplate;
+    private final ReceiptMetrics metrics;
     
     @Value("${erp.api.base-url}")
     private String erpBaseUrl;
@@ -34,10 +38,13 @@ public class ErpIntegrationService {
     /**
      * ERP 전표 정보 조회
      */
+    @Cacheable(value = "erpLedgers", key = "#ledgerId", sync = true)
     @Retryable(value = Exception.class, maxAttempts = 3, backoff = @Backoff(delay = 1000))
     public ErpLedgerInfo getLedgerInfo(String ledgerId) {
         log.info("Fetching ERP ledger info: {}", ledgerId);
         
+        Timer.Sample sample = metrics.startTimer();
+        boolean success = false;
         try {
             String url = erpBaseUrl + "/api/ledger/" + ledgerId;
             
@@ -52,11 +59,14 @@ public class ErpIntegrationService {
             );
             
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                success = true;
                 return convertToLedgerInfo(response.getBody());
             }
             
         } catch (Exception e) {
             log.error("Failed to fetch ERP ledger info: {}", ledgerId, e);
+        } finally {
+            metrics.recordErpCall(sample, "ledger", success);
         }
         
         return null;
@@ -68,6 +78,8 @@ public class ErpIntegrationService {
     public List<ErpLedgerInfo> getOpenLedgers(LocalDateTime startDate, LocalDateTime endDate) {
         log.info("Fetching open ledgers from {} to {}", startDate, endDate);
         
+        Timer.Sample sample = metrics.startTimer();
+        boolean success = false;
         try {
             String url = erpBaseUrl + "/api/ledgers/open";
             
@@ -88,6 +100,7 @@ public class ErpIntegrationService {
             );
             
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                success = true;
                 return response.getBody().getLedgers().stream()
                     .map(this::convertToLedgerInfo)
                     .collect(Collectors.toList());
@@ -95,6 +108,8 @@ public class ErpIntegrationService {
             
         } catch (Exception e) {
             log.error("Failed to fetch open ledgers", e);
+        } finally {
+            metrics.recordErpCall(sample, "openLedgers", success);
         }
         
         return new ArrayList<>();
@@ -106,6 +121,8 @@ public class ErpIntegrationService {
     public void sendMatchingInfo(AccountingMatch match) {
         log.info("Sending matching info to ERP: {}", match.getMatchId());
         
+        Timer.Sample sample = metrics.startTimer();
+        boolean success = false;
         try {
             String url = erpBaseUrl + "/api/matching/create";
             
@@ -130,13 +147,16 @@ public class ErpIntegrationService {
                 ErpApiResponse.class
             );
             
-            if (!response.getStatusCode().is2xxSuccessful()) {
+            success = response.getStatusCode().is2xxSuccessful();
+            if (!success) {
                 log.error("Failed to send matching info to ERP: {}", response.getBody());
             }
             
         } catch (Exception e) {
             log.error("Error sending matching info to ERP", e);
             // 실패해도 로컬 처리는 계속 진행
+        } finally {
+            metrics.recordErpCall(sample, "matching", success);
         }
     }
     
@@ -190,16 +210,22 @@ public class ErpIntegrationService {
     }
     
     private void sendStatusUpdate(String endpoint, Map<String, Object> data) {
+        Timer.Sample sample = metrics.startTimer();
+        boolean success = false;
         try {
             String url = erpBaseUrl + endpoint;
             
             HttpHeaders headers = createHeaders();
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(data, headers);
             
-            restTemplate.exchange(url, HttpMethod.POST, entity, ErpApiResponse.class);
+            success = restTemplate.exchange(url, HttpMethod.POST, entity, ErpApiResponse.class)
+                .getStatusCode().is2xxSuccessful();
             
         } catch (Exception e) {
             log.error("Failed to send status update to ERP", e);
+        } finally {
+            // /api/matching/approve -> approve
+            metrics.recordErpCall(sample, endpoint.substring(endpoint.lastIndexOf('/') + 1), success);
         }
     }
     
@@ -0,0 +1,275 @@
+package com.company.receipt.service;
+
+import com.company.receipt.config.NodeIdentity;
+import com.company.receipt.domain.PushedTransactionEvent;
+import com.company.receipt.dto.ProviderWebhookDto;
+import com.company.receipt.exception.IngestionQueueFullException;
+import com.company.receipt.exception.InvalidWebhookSignatureException;
+import com.company.receipt.external.CardApiAggregatorService;
+import com.company.receipt.repository.PushedTransactionEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 카드사 푸시(웹훅) 수신 처리
+ * 요청은 서명 검증 후 대기 테이블(pushed_transaction_events)에 기록하고 바로 응답하며,
+ * 저장은 flush 에서 마이크로 배치로 처리한다. 응답 전에 커밋되므로 노드가 재시작돼도 접수한 이벤트는 유실되지 않고,
+ * 반영에 실패한 이벤트는 백오프 후 다시 시도한다 (한도 초과 시 FAILED 로 남음).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RealtimeIngestionService {
+    
+    private final CardApiAggregatorService cardApiAggregatorService;
+    private final ReceiptService receiptService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PushedTransactionEventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NodeIdentity nodeIdentity;
+    
+    @Value("${receipt.webhook.max-pending:100000}")
+    private long maxPending;
+    
+    @Value("${receipt.webhook.max-batch-size:500}")
+    private int maxBatchSize;
+    
+    @Value("${receipt.webhook.max-attempts:10}")
+    private int maxAttempts;
+    
+    @Value("${receipt.webhook.retry-backoff-seconds:30}")
+    private long retryBackoffSeconds;
+    
+    @Value("${receipt.webhook.lease-minutes:5}")
+    private long leaseMinutes;
+    
+    @Value("${receipt.webhook.timestamp-tolerance-seconds:300}")
+    private long timestampToleranceSeconds;
+    
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    
+    /**
+     * 웹훅 요청 검증 및 대기 테이블 기록
+     * 서명은 "{timestamp}.{body}" 에 대한 HMAC-SHA256(hex) 값이며, 허용 시간을 벗어난 요청은 재전송 공격으로 보고 거부한다.
+     * 이벤트는 한 트랜잭션으로 기록하고 (같은 이벤트 ID 재전송은 무시), 대기 건수가 한도를 넘으면 전부 거부해 카드사가 재시도하도록 한다.
+     */
+    public int accept(String cardCompany, String body, String signature, String timestamp) {
+        String secret = cardApiAggregatorService.getWebhookSecret(cardCompany);
+        if (secret == null) {
+            throw new InvalidWebhookSignatureException("Webhook not enabled for card company: " + cardCompany);
+        }
+        
+        verifyTimestamp(timestamp);
+        verifySignature(secret, timestamp + "." + body, signature);
+        
+        ProviderWebhookDto payload = parse(body);
+        
+        if (eventRepository.countByStatus(PushedTransactionEvent.EventStatus.PENDING) 
+                + payload.getEvents().size() > maxPending) {
+            throw new IngestionQueueFullException("Ingestion queue is full, retry later");
+        }
+        
+        String company = cardCompany.toUpperCase();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(payload.getEvents().size());
+        for (ProviderWebhookDto.TransactionEvent event : payload.getEvents()) {
+            rows.add(new Object[] {company, event.getEventId(), serialize(event), now});
+        }
+        
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+            "INSERT IGNORE INTO pushed_transaction_events " +
+            "(card_company, event_id, payload, status, attempts, next_attempt_at) " +
+            "VALUES (?, ?, ?, 'PENDING', 0, ?)",
+            rows));
+        
+        log.debug("Accepted {} pushed events from {}", payload.getEvents().size(), cardCompany);
+        return payload.getEvents().size();
+    }
+    
+    /**
+     * 대기 이벤트를 확보해 카드사별로 묶어 저장
+     * 여러 노드가 동시에 실행해도 SKIP LOCKED 로 서로 다른 행을 가져간다.
+     * 반영 후 삭제 전에 중단되면 다시 처리되지만, 승인번호 기준 중복 제거로 같은 거래가 두 번 저장되지 않는다.
+     * 실패는 이벤트 단위로 기록해, 잘못된 이벤트 하나 때문에 같은 묶음의 정상 이벤트가 FAILED 로 가지 않도록 한다.
+     */
+    public int flush() {
+        List<PushedTransactionEvent> claimed = claimBatch();
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        
+        Map<String, List<PushedTransactionEvent>> byCompany = claimed.stream()
+            .collect(Collectors.groupingBy(PushedTransactionEvent::getCardCompany));
+        
+        int saved = 0;
+        for (Map.Entry<String, List<PushedTransactionEvent>> entry : byCompany.entrySet()) {
+            String cardCompany = entry.getKey();
+            
+            // 이벤트별로 해석/검증하고 실패한 이벤트만 따로 기록
+            Map<Long, ProviderWebhookDto.TransactionEvent> events = new LinkedHashMap<>();
+            for (PushedTransactionEvent pending : entry.getValue()) {
+                try {
+                    events.put(pending.getEventSeq(), readEvent(pending));
+                } catch (Exception e) {
+                    log.error("Invalid pushed event {} from {}", pending.getEventSeq(), cardCompany, e);
+                    markFailed(List.of(pending.getEventSeq()), e);
+                }
+            }
+            if (events.isEmpty()) {
+                continue;
+            }
+            
+            try {
+                saved += ingest(cardCompany, events);
+            } catch (Exception e) {
+                // 묶음 저장이 실패하면 실패한 이벤트를 가려내기 위해 건별로 다시 반영
+                log.warn("Failed to ingest {} pushed events from {}, retrying one by one", 
+                    events.size(), cardCompany, e);
+                for (Map.Entry<Long, ProviderWebhookDto.TransactionEvent> event : events.entrySet()) {
+                    try {
+                        saved += ingest(cardCompany, Map.of(event.getKey(), event.getValue()));
+                    } catch (Exception single) {
+                        log.error("Failed to ingest pushed event {} from {}, will retry", 
+                            event.getKey(), cardCompany, single);
+                        markFailed(List.of(event.getKey()), single);
+                    }
+                }
+            }
+        }
+        
+        return saved;
+    }
+    
+    private int ingest(String cardCompany, Map<Long, ProviderWebhookDto.TransactionEvent> events) {
+        int saved = receiptService.ingestPushedTransactions(cardCompany, new ArrayList<>(events.values()));
+        List<Long> eventSeqs = new ArrayList<>(events.keySet());
+        transactionTemplate.executeWithoutResult(status -> eventRepository.deleteProcessed(eventSeqs));
+        return saved;
+    }
+    
+    private ProviderWebhookDto.TransactionEvent readEvent(PushedTransactionEvent pending) throws JsonProcessingException {
+        ProviderWebhookDto.TransactionEvent event = 
+            objectMapper.readValue(pending.getPayload(), ProviderWebhookDto.TransactionEvent.class);
+        
+        Set<ConstraintViolation<ProviderWebhookDto.TransactionEvent>> violations = validator.validate(event);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return event;
+    }
+    
+    private void markFailed(List<Long> eventSeqs, Exception e) {
+        transactionTemplate.executeWithoutResult(status -> eventRepository.markFailed(
+            eventSeqs, maxAttempts, LocalDateTime.now().plusSeconds(retryBackoffSeconds), truncate(e.getMessage())));
+    }
+    
+    private List<PushedTransactionEvent> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            
+            int recovered = eventRepository.recoverStale(now.minusMinutes(leaseMinutes), maxAttempts);
+            if (recovered > 0) {
+                log.warn("Recovered {} stale pushed events", recovered);
+            }
+            
+            List<PushedTransactionEvent> events = eventRepository.findReadyForUpdate(now, maxBatchSize);
+            if (!events.isEmpty()) {
+                eventRepository.markInProgress(
+                    events.stream().map(PushedTransactionEvent::getEventSeq).collect(Collectors.toList()),
+                    nodeIdentity.getNodeId(), now);
+            }
+            return events;
+        });
+    }
+    
+    private String serialize(ProviderWebhookDto.TransactionEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize pushed event: " + event.getEventId(), e);
+        }
+    }
+    
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+    
+    private void verifyTimestamp(String timestamp) {
+        if (timestamp == null) {
+            throw new InvalidWebhookSignatureException("Missing webhook timestamp");
+        }
+        
+        try {
+            Instant sentAt = Instant.ofEpochSecond(Long.parseLong(timestamp));
+            Duration skew = Duration.between(sentAt, Instant.now()).abs();
+            if (skew.getSeconds() > timestampToleranceSeconds) {
+                throw new InvalidWebhookSignatureException("Webhook timestamp outside tolerance");
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidWebhookSignatureException("Invalid webhook timestamp");
+        }
+    }
+    
+    private void verifySignature(String secret, String signedPayload, String signature) {
+        if (signature == null) {
+            throw new InvalidWebhookSignatureException("Missing webhook signature");
+        }
+        
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            byte[] expected = mac.doFinal(signedPayload.getBytes(StandardCharsets.UTF_8));
+            byte[] provided = HexFormat.of().parseHex(signature.trim().toLowerCase());
+            
+            // 비교 시간으로 서명이 추측되지 않도록 고정 시간 비교
+            if (!MessageDigest.isEqual(expected, provided)) {
+                throw new InvalidWebhookSignatureException("Webhook signature mismatch");
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidWebhookSignatureException("Malformed webhook signature");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC not available", e);
+        }
+    }
+    
+    private ProviderWebhookDto parse(String body) {
+        ProviderWebhookDto payload;
+        try {
+            payload = objectMapper.readValue(body, ProviderWebhookDto.class);
+        } catch (JsonProcessingException e) {
+            throw new ConstraintViolationException("Malformed webhook payload", Set.of());
+        }
+        
+        Set<ConstraintViolation<ProviderWebhookDto>> violations = validator.validate(payload);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return payload;
+    }
+}
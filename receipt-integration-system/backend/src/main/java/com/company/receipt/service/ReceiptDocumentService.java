@@ -0,0 +1,178 @@
+package com.company.receipt.service;
+
+import com.company.receipt.domain.ReceiptDocument;
+import com.company.receipt.domain.TransactionRecord;
+import com.company.receipt.external.CardApiAggregatorService;
+import com.company.receipt.repository.ReceiptDocumentRepository;
+import com.company.receipt.storage.DocumentStore;
+import com.company.receipt.storage.StoredDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ReceiptDocumentService {
+    
+    private final ReceiptDocumentRepository documentRepository;
+    private final CardApiAggregatorService cardApiAggregatorService;
+    private final DocumentStore documentStore;
+    private final TransactionTemplate transactionTemplate;
+    
+    private static final int MAX_STORE_ATTEMPTS = 2;
+    
+    @Value("${receipt.storage.gc.grace-hours:24}")
+    private int gcGraceHours;
+    
+    @Value("${receipt.storage.gc.batch-size:500}")
+    private int gcBatchSize;
+    
+    @Value("${receipt.storage.gc.reconcile-page-size:1000}")
+    private int reconcilePageSize;
+    
+    /**
+     * 거래의 영수증 문서 확보
+     * 이미 받은 카드사 문서 식별자이면 다운로드 없이 기존 문서의 참조 수만 늘린다.
+     * 새로 받은 문서도 같은 내용이 있으면 하나의 문서로 합쳐진다.
+     * 다운로드는 트랜잭션 밖에서 하고, 문서 등록만 짧은 트랜잭션으로 처리한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StoredDocument acquire(TransactionRecord transaction) {
+        String providerDocumentId = cardApiAggregatorService.getReceiptDocumentId(transaction);
+        
+        StoredDocument known = transactionTemplate.execute(status -> {
+            Optional<ReceiptDocument> document = documentRepository.findByProviderDocumentId(providerDocumentId);
+            if (document.isEmpty() || documentRepository.incrementReference(document.get().getDocumentHash()) == 0) {
+                return null;
+            }
+            if (!documentStore.exists(document.get().getStorageLocation())) {
+                status.setRollbackOnly();
+                return null;
+            }
+            return toStoredDocument(document.get());
+        });
+        if (known != null) {
+            log.debug("Receipt document already stored, skipping download: {}", providerDocumentId);
+            return known;
+        }
+        
+        for (int attempt = 1; attempt <= MAX_STORE_ATTEMPTS; attempt++) {
+            StoredDocument stored = cardApiAggregatorService.downloadReceiptDocument(transaction);
+            if (stored == null) {
+                return null;
+            }
+            
+            Boolean registered = transactionTemplate.execute(status -> {
+                documentRepository.upsertReference(
+                    stored.getSha256(), stored.getLocation(), stored.getContentType(), stored.getSize());
+                
+                // 저장소는 같은 파일이 있으면 쓰기를 생략하므로, 그 사이 GC 가 지운 경우를 행 잠금을 가진 상태에서 확인
+                if (!documentStore.exists(stored.getLocation())) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+                
+                documentRepository.registerSource(providerDocumentId, stored.getSha256());
+                return true;
+            });
+            
+            if (Boolean.TRUE.equals(registered)) {
+                return stored;
+            }
+            log.warn("Receipt document was removed while registering, downloading again: {}", providerDocumentId);
+        }
+        
+        throw new IllegalStateException("Failed to store receipt document: " + providerDocumentId);
+    }
+    
+    /**
+     * 참조되지 않는 문서 정리
+     * 영수증 URL 기준으로 참조 수를 다시 계산한 뒤, 유예 시간 동안 참조가 없던 문서를 삭제한다.
+     * 참조 수는 문서 해시 순으로 페이지마다 별도 트랜잭션으로 갱신해 문서 테이블 전체를 오래 잠그지 않는다.
+     * 문서마다 행을 잠그고 참조 수를 다시 확인한 뒤 행과 파일을 함께 삭제하므로,
+     * 동시에 같은 문서를 등록하는 acquire 는 삭제가 끝날 때까지 대기한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int collectGarbage() {
+        reconcileReferenceCounts();
+        
+        LocalDateTime threshold = LocalDateTime.now().minusHours(gcGraceHours);
+        List<ReceiptDocument> candidates = documentRepository.findUnreferencedBefore(
+            threshold, PageRequest.of(0, gcBatchSize));
+        
+        int deleted = 0;
+        for (ReceiptDocument candidate : candidates) {
+            try {
+                Boolean removed = transactionTemplate.execute(status -> 
+                    deleteIfStillUnreferenced(candidate.getDocumentHash(), threshold));
+                if (Boolean.TRUE.equals(removed)) {
+                    deleted++;
+                }
+            } catch (Exception e) {
+                log.error("Failed to delete receipt document: {}", candidate.getStorageLocation(), e);
+            }
+        }
+        
+        log.info("Receipt document GC removed {} of {} unreferenced documents", deleted, candidates.size());
+        
+        return deleted;
+    }
+    
+    private void reconcileReferenceCounts() {
+        String afterHash = "";
+        List<String> page;
+        
+        do {
+            page = documentRepository.findHashesAfter(afterHash, reconcilePageSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            
+            List<String> hashes = page;
+            transactionTemplate.executeWithoutResult(status -> documentRepository.reconcileReferenceCounts(hashes));
+            afterHash = page.get(page.size() - 1);
+        } while (page.size() == reconcilePageSize);
+    }
+    
+    private boolean deleteIfStillUnreferenced(String documentHash, LocalDateTime threshold) {
+        Optional<ReceiptDocument> locked = documentRepository.findByIdForUpdate(documentHash);
+        if (locked.isEmpty() 
+                || locked.get().getRefCount() > 0 
+                || !locked.get().getLastReferencedAt().isBefore(threshold)) {
+            return false;
+        }
+        
+        documentRepository.deleteSources(documentHash);
+        documentRepository.deleteIfUnreferenced(documentHash);
+        
+        // 파일 삭제에 실패하면 행 삭제도 롤백해 행과 파일이 어긋나지 않게 한다
+        try {
+            documentStore.delete(locked.get().getStorageLocation());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+    
+    private StoredDocument toStoredDocument(ReceiptDocument document) {
+        return StoredDocument.builder()
+            .location(document.getStorageLocation())
+            .sha256(document.getDocumentHash())
+            .size(document.getFileSize())
+            .contentType(document.getContentType())
+            .build();
+    }
+}
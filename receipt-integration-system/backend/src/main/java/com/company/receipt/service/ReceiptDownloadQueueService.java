@@ -0,0 +1,183 @@
+package com.company.receipt.service;
+
+import com.company.receipt.domain.ElectronicReceipt;
+import com.company.receipt.domain.ReceiptDownloadJob;
+import com.company.receipt.repository.ElectronicReceiptRepository;
+import com.company.receipt.repository.ReceiptDownloadJobRepository;
+import com.company.receipt.storage.StoredDocument;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ReceiptDownloadQueueService {
+    
+    private final ReceiptDownloadJobRepository jobRepository;
+    private final ElectronicReceiptRepository receiptRepository;
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${receipt.download.max-attempts:5}")
+    private int maxAttempts;
+    
+    @Value("${receipt.download.backoff-base-seconds:60}")
+    private long backoffBaseSeconds;
+    
+    @Value("${receipt.download.backoff-max-minutes:360}")
+    private long backoffMaxMinutes;
+    
+    @Value("${receipt.download.lease-minutes:10}")
+    private long leaseMinutes;
+    
+    private static final String VERIFICATION_METHOD = "PROVIDER_DOCUMENT";
+    
+    /**
+     * 다운로드 작업 등록
+     * 영수증 저장과 같은 트랜잭션에서 기록되므로 커밋된 영수증만 작업자에게 보인다.
+     */
+    @Transactional
+    public void enqueue(ElectronicReceipt receipt) {
+        jobRepository.enqueue(
+            receipt.getReceiptId(),
+            receipt.getTransactionRecord().getCardInfo().getCardCompany(),
+            LocalDateTime.now());
+    }
+    
+    /**
+     * 다운로드 작업 일괄 등록
+     * 동기화 배치에서 저장한 영수증을 JDBC 배치 한 번으로 등록한다. 영수증은 미리 flush 되어 있어야 한다.
+     */
+    @Transactional
+    public void enqueueAll(List<ElectronicReceipt> receipts) {
+        if (receipts.isEmpty()) {
+            return;
+        }
+        
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+            "INSERT IGNORE INTO receipt_download_jobs " +
+            "(receipt_id, card_company, status, attempts, next_attempt_at) " +
+            "VALUES (?, ?, 'PENDING', 0, ?)",
+            receipts.stream()
+                .map(receipt -> new Object[] {
+                    receipt.getReceiptId(),
+                    receipt.getTransactionRecord().getCardInfo().getCardCompany(),
+                    now
+                })
+                .collect(Collectors.toList()));
+    }
+    
+    /**
+     * 처리할 작업 확보
+     * 다른 노드가 잡고 있는 행은 SKIP LOCKED 로 건너뛰고, 확보한 작업은 IN_PROGRESS 로 표시한다.
+     */
+    @Transactional
+    public List<ReceiptDownloadJob> claimBatch(String nodeId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        
+        int recovered = jobRepository.recoverStale(now.minusMinutes(leaseMinutes), maxAttempts);
+        if (recovered > 0) {
+            log.warn("Recovered {} stale receipt download jobs", recovered);
+        }
+        
+        List<ReceiptDownloadJob> jobs = jobRepository.findReadyForUpdate(now, limit);
+        if (!jobs.isEmpty()) {
+            jobRepository.markInProgress(
+                jobs.stream().map(ReceiptDownloadJob::getJobId).collect(Collectors.toList()), nodeId, now);
+        }
+        
+        return jobs;
+    }
+    
+    /**
+     * 배치 처리 결과 반영
+     * 성공한 영수증은 한 번에 검증 처리하고, 실패한 작업은 지수 백오프로 재시도 일정을 잡는다.
+     */
+    @Transactional
+    public void completeBatch(List<DownloadOutcome> outcomes, List<ReceiptDownloadJob> deferred, 
+                              LocalDateTime deferredUntil) {
+        LocalDateTime now = LocalDateTime.now();
+        
+        List<DownloadOutcome> succeeded = outcomes.stream()
+            .filter(DownloadOutcome::isSuccess)
+            .collect(Collectors.toList());
+        
+        for (DownloadOutcome outcome : succeeded) {
+            StoredDocument document = outcome.getDocument();
+            receiptRepository.updateDocumentUrls(
+                outcome.getReceiptId(),
+                document.isPdf() ? document.getLocation() : null,
+                document.isPdf() ? null : document.getLocation());
+        }
+        
+        if (!succeeded.isEmpty()) {
+            receiptRepository.markVerified(
+                succeeded.stream().map(DownloadOutcome::getReceiptId).collect(Collectors.toList()),
+                now, VERIFICATION_METHOD);
+            jobRepository.markCompleted(
+                succeeded.stream().map(DownloadOutcome::getJobId).collect(Collectors.toList()));
+        }
+        
+        for (DownloadOutcome outcome : outcomes) {
+            if (outcome.isSuccess()) {
+                continue;
+            }
+            int attempts = outcome.getAttempts() + 1;
+            boolean exhausted = attempts >= maxAttempts;
+            jobRepository.markFailed(
+                outcome.getJobId(),
+                exhausted ? ReceiptDownloadJob.JobStatus.FAILED : ReceiptDownloadJob.JobStatus.PENDING,
+                now.plusSeconds(backoffSeconds(attempts)),
+                truncate(outcome.getError()));
+            
+            if (exhausted) {
+                log.error("Receipt download gave up after {} attempts: receipt {}", attempts, outcome.getReceiptId());
+            }
+        }
+        
+        if (!deferred.isEmpty()) {
+            jobRepository.release(
+                deferred.stream().map(ReceiptDownloadJob::getJobId).collect(Collectors.toList()),
+                deferredUntil);
+        }
+        
+        log.info("Receipt download batch: {} succeeded, {} failed, {} deferred by rate limit",
+            succeeded.size(), outcomes.size() - succeeded.size(), deferred.size());
+    }
+    
+    private long backoffSeconds(int attempts) {
+        long seconds = backoffBaseSeconds << Math.min(attempts - 1, 20);
+        return Math.min(seconds, backoffMaxMinutes * 60);
+    }
+    
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class DownloadOutcome {
+        private final Long jobId;
+        private final Long receiptId;
+        private final int attempts;
+        private final StoredDocument document;
+        private final String error;
+        
+        public boolean isSuccess() {
+            return document != null;
+        }
+    }
+}
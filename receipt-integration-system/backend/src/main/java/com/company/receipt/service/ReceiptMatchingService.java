@@ -1,5 +1,6 @@
 package com.company.receipt.service;
 
+import com.company.receipt.config.ReceiptMetrics;
 import com.company.receipt.domain.AccountingMatch;
 import com.company.receipt.domain.ElectronicReceipt;
 import com.company.receipt.domain.User;
@@ -8,11 +9,13 @@ import com.company.receipt.exception.InvalidMatchException;
 import com.company.receipt.exception.ReceiptNotFoundException;
 import com.company.receipt.repository.AccountingMatchRepository;
 import com.company.receipt.repository.ElectronicReceiptRepository;
-import com.company.receipt.repository.UserRepository;
+import com.company.receipt.security.AuthenticatedUser;
+import com.company.receipt.security.CurrentUserProvider;
 import com.company.receipt.util.MatchingEngine;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,9 +32,11 @@ public class ReceiptMatchingService {
     
     private final ElectronicReceiptRepository receiptRepository;
     private final AccountingMatchRepository matchRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserProvider currentUserProvider;
     private final ErpIntegrationService erpIntegrationService;
     private final MatchingEngine matchingEngine;
+    private final ReceiptMetrics metrics;
+    private final EntityManager entityManager;
     
     @Transactional
     public MatchResponseDto matchReceipt(Long receiptId, MatchRequestDto matchRequest) {
@@ -50,10 +55,8 @@ public class ReceiptMatchingService {
             throw new InvalidMatchException("ERP 전표를 찾을 수 없습니다: " + matchRequest.getErpLedgerId());
         }
         
-        // 현재 사용자 정보
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User currentUser = userRepository.findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        // 현재 사용자 정보 (인증 시 해석된 principal 사용)
+        User currentUser = currentUserProvider.getCurrentUser().toReference();
         
         // 매칭 생성
         AccountingMatch match = AccountingMatch.builder()
@@ -74,6 +77,7 @@ public class ReceiptMatchingService {
             .build();
         
         AccountingMatch savedMatch = matchRepository.save(match);
+        refreshMatchState(savedMatch);
         
         // ERP에 매칭 정보 전송
         erpIntegrationService.sendMatchingInfo(savedMatch);
@@ -88,6 +92,8 @@ public class ReceiptMatchingService {
         log.info("Starting auto-match process");
         
         LocalDateTime startTime = LocalDateTime.now();
+        long startedAt = System.currentTimeMillis();
+        Timer.Sample sample = metrics.startTimer();
         AutoMatchResponseDto.AutoMatchResponseDtoBuilder responseBuilder = AutoMatchResponseDto.builder()
             .batchId(UUID.randomUUID().toString())
             .executionTime(startTime);
@@ -181,8 +187,9 @@ public class ReceiptMatchingService {
         }
         
         AutoMatchResponseDto response = responseBuilder
-            .processingTimeMillis(System.currentTimeMillis() - startTime.toInstant().toEpochMilli())
+            .processingTimeMillis(System.currentTimeMillis() - startedAt)
             .build();
+        metrics.recordAutoMatch(sample, response.getStatus());
         
         log.info("Auto-match completed: {} successful, {} failed", 
             response.getStatistics() != null ? response.getStatistics().getSuccessfulMatches() : 0,
@@ -201,9 +208,7 @@ public class ReceiptMatchingService {
             throw new InvalidMatchException("매칭을 승인할 수 없는 상태입니다");
         }
         
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User approver = userRepository.findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser approver = currentUserProvider.getCurrentUser();
         
         match.approve(approver.getUserId());
         if (notes != null) {
@@ -211,6 +216,7 @@ public class ReceiptMatchingService {
         }
         
         matchRepository.save(match);
+        refreshMatchState(match);
         
         // ERP에 승인 정보 전송
         erpIntegrationService.sendApprovalInfo(match);
@@ -221,12 +227,11 @@ public class ReceiptMatchingService {
         AccountingMatch match = matchRepository.findById(matchId)
             .orElseThrow(() -> new RuntimeException("Match not found"));
         
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User rejector = userRepository.findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser rejector = currentUserProvider.getCurrentUser();
         
         match.reject(rejector.getUserId(), reason);
         matchRepository.save(match);
+        refreshMatchState(match);
         
         // ERP에 반려 정보 전송
         erpIntegrationService.sendRejectionInfo(match);
@@ -239,6 +244,7 @@ public class ReceiptMatchingService {
         
         match.cancel(reason);
         matchRepository.save(match);
+        refreshMatchState(match);
         
         // ERP에 취소 정보 전송
         erpIntegrationService.sendCancellationInfo(match);
@@ -249,7 +255,7 @@ public class ReceiptMatchingService {
         request.validate();
         
         // 이미 매칭된 영수증인지 확인
-        if (receipt.isMatched() && receipt.isFullyMatched()) {
+        if (receipt.getMatchState() == ElectronicReceipt.MatchState.MATCHED) {
             throw new InvalidMatchException("이미 전액 매칭된 영수증입니다");
         }
         
@@ -287,8 +293,8 @@ public class ReceiptMatchingService {
             MatchingEngine.MatchResult engineResult,
             AutoMatchRequestDto request) {
         
-        User systemUser = userRepository.findByUsername("SYSTEM")
-            .orElseThrow(() -> new RuntimeException("System user not found"));
+        // 기동 시 한 번 해석한 SYSTEM 사용자 (매칭 건마다 조회하지 않음)
+        User systemUser = currentUserProvider.getSystemUser().toReference();
         
         AccountingMatch match = AccountingMatch.builder()
             .electronicReceipt(receipt)
@@ -308,7 +314,25 @@ public class ReceiptMatchingService {
             .notes("자동 매칭: " + engineResult.getMatchingRule())
             .build();
         
-        return matchRepository.save(match);
+        AccountingMatch savedMatch = matchRepository.save(match);
+        refreshMatchState(savedMatch);
+        
+        return savedMatch;
+    }
+    
+    /**
+     * 영수증 매칭 상태 갱신
+     * 매칭 변경과 같은 트랜잭션에서 실행되어 검색용 상태 컬럼이 항상 매칭 내역과 일치한다.
+     */
+    private void refreshMatchState(AccountingMatch match) {
+        matchRepository.flush();
+        ElectronicReceipt receipt = match.getElectronicReceipt();
+        receiptRepository.refreshMatchState(receipt.getReceiptId());
+        
+        // 네이티브 UPDATE 는 영속성 컨텍스트를 거치지 않으므로 같은 트랜잭션의 이후 조회가 새 상태를 보도록 다시 읽음
+        if (entityManager.contains(receipt)) {
+            entityManager.refresh(receipt);
+        }
     }
     
     private AutoMatchResponseDto.UnmatchedReceipt createUnmatchedReceiptInfo(
@@ -1,25 +1,46 @@
 package com.company.receipt.service;
 
+import com.company.receipt.config.ReceiptMetrics;
+import com.company.receipt.domain.AccountingMatch;
 import com.company.receipt.domain.CardInfo;
 import com.company.receipt.domain.ElectronicReceipt;
 import com.company.receipt.domain.TransactionRecord;
+import com.company.receipt.dto.CardSyncResultDto;
+import com.company.receipt.dto.ProviderWebhookDto;
+import com.company.receipt.dto.ReceiptCursorPageDto;
 import com.company.receipt.dto.ReceiptSearchDto;
 import com.company.receipt.dto.ReceiptResponseDto;
 import com.company.receipt.exception.ReceiptNotFoundException;
 import com.company.receipt.external.CardApiAggregatorService;
+import com.company.receipt.repository.AccountingMatchRepository;
+import com.company.receipt.repository.CardInfoRepository;
 import com.company.receipt.repository.ElectronicReceiptRepository;
+import com.company.receipt.repository.ReceiptSearchCursor;
 import com.company.receipt.repository.TransactionRecordRepository;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,111 +49,412 @@ import java.util.concurrent.CompletableFuture;
 public class ReceiptService {
     
     private final ElectronicReceiptRepository receiptRepository;
+    private final AccountingMatchRepository matchRepository;
     private final TransactionRecordRepository transactionRepository;
+    private final CardInfoRepository cardInfoRepository;
     private final CardApiAggregatorService cardApiAggregatorService;
     private final ReceiptMatchingService matchingService;
+    private final ReceiptDownloadQueueService downloadQueueService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ReceiptMetrics metrics;
     
-    @Transactional
-    public void syncReceiptsForCard(CardInfo cardInfo) {
+    private static final int MAX_CURSOR_PAGE_SIZE = 500;
+    private static final Set<String> SEEK_SORT_KEYS = Set.of("issueDate", "amount", "merchantName", "transactionDate");
+    
+    @Value("${receipt.sync.batch-size:200}")
+    private int syncBatchSize;
+    
+    @Value("${receipt.sync.watermark-overlap-minutes:60}")
+    private long watermarkOverlapMinutes;
+    
+    @Value("${receipt.sync.stream-max-attempts:3}")
+    private int streamMaxAttempts;
+    
+    @Value("${receipt.sync.stream-retry-backoff-ms:1000}")
+    private long streamRetryBackoffMillis;
+    
+    /**
+     * 카드 거래내역 동기화
+     * 배치마다 별도 트랜잭션으로 커밋하고, 커밋한 거래의 최신 일시를 카드별 워터마크로 남긴다.
+     * 중간에 실패하면 다음 동기화는 워터마크에서 overlap 만큼 앞선 시점부터 이어서 조회한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CardSyncResultDto syncReceiptsForCard(CardInfo cardInfo) {
         log.info("Starting receipt sync for card: {}", cardInfo.getCardId());
+        long startedAt = System.currentTimeMillis();
+        Timer.Sample sample = metrics.startTimer();
         
         try {
-            // 카드사 API에서 거래내역 조회
-            LocalDateTime fromDate = cardInfo.getLastSyncDate() != null 
-                ? cardInfo.getLastSyncDate() 
-                : LocalDateTime.now().minusMonths(1);
-            
-            List<TransactionRecord> transactions = cardApiAggregatorService
-                .fetchTransactions(cardInfo, fromDate, LocalDateTime.now());
+            // 카드사 API에서 거래내역 조회 (체크포인트가 있으면 이어서)
+            LocalDateTime fromDate = resolveSyncStart(cardInfo);
+            LocalDateTime toDate = LocalDateTime.now();
             
-            // 거래내역 저장 및 영수증 생성
-            for (TransactionRecord transaction : transactions) {
-                saveTransactionWithReceipt(transaction);
-            }
+            // 응답을 배치 단위로 받아 배치마다 커밋 (전체 이력을 메모리나 한 트랜잭션에 올리지 않음)
+            CardSyncResultDto result = streamWithResume(cardInfo, fromDate, toDate);
             
-            // 동기화 상태 업데이트
-            cardInfo.setLastSyncDate(LocalDateTime.now());
+            // 조회 구간 전체를 받았으므로 워터마크를 구간 끝으로 올리고 동기화 상태 업데이트
+            LocalDateTime completedAt = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> 
+                cardInfoRepository.completeSync(cardInfo.getCardId(), completedAt, toDate));
+            cardInfo.setLastSyncDate(completedAt);
+            cardInfo.setSyncWatermark(toDate);
             cardInfo.setSyncStatus(CardInfo.SyncStatus.SUCCESS);
             
-            log.info("Receipt sync completed for card: {}", cardInfo.getCardId());
+            long elapsedMillis = Math.max(1, System.currentTimeMillis() - startedAt);
+            log.info("Receipt sync completed for card: {} ({} transactions, {} new, {} ms, {} rows/s)", 
+                cardInfo.getCardId(), result.getFetchedCount(), result.getInsertedCount(), elapsedMillis, 
+                result.getFetchedCount() * 1000L / elapsedMillis);
+            metrics.recordSync(sample, cardInfo.getCardCompany(), true, result.getFetchedCount());
+            
+            return result;
             
         } catch (Exception e) {
             log.error("Receipt sync failed for card: {}", cardInfo.getCardId(), e);
+            metrics.recordSync(sample, cardInfo.getCardCompany(), false, 0);
+            transactionTemplate.executeWithoutResult(status -> cardInfoRepository.updateSyncStatus(
+                cardInfo.getCardId(), CardInfo.SyncStatus.FAILED, LocalDateTime.now()));
             cardInfo.setSyncStatus(CardInfo.SyncStatus.FAILED);
             throw new RuntimeException("Receipt sync failed", e);
         }
     }
     
-    @Transactional
-    public ElectronicReceipt saveTransactionWithReceipt(TransactionRecord transaction) {
-        // 중복 체크
-        if (transactionRepository.existsByApprovalNumberAndCardInfo(
-                transaction.getApprovalNumber(), transaction.getCardInfo())) {
-            log.debug("Transaction already exists: {}", transaction.getApprovalNumber());
-            return null;
+    /**
+     * 거래내역 스트리밍 저장
+     * 조회가 중간에 실패하면 처음부터 다시 받지 않고 마지막으로 커밋한 배치의 거래 일시부터 이어서 조회한다.
+     * 경계에서 다시 받은 거래는 승인번호 기준 중복 제거로 걸러진다.
+     */
+    private CardSyncResultDto streamWithResume(CardInfo cardInfo, LocalDateTime fromDate, LocalDateTime toDate) {
+        AtomicInteger fetched = new AtomicInteger();
+        AtomicInteger inserted = new AtomicInteger();
+        AtomicReference<LocalDateTime> committedUpTo = new AtomicReference<>();
+        LocalDateTime resumeFrom = fromDate;
+        
+        for (int attempt = 1; ; attempt++) {
+            try {
+                cardApiAggregatorService.streamTransactions(
+                    cardInfo, resumeFrom, toDate, syncBatchSize, 
+                    batch -> {
+                        LocalDateTime latest = batch.stream()
+                            .map(TransactionRecord::getTransactionDateTime)
+                            .max(LocalDateTime::compareTo)
+                            .orElse(null);
+                        
+                        Integer saved = transactionTemplate.execute(status -> {
+                            int count = saveTransactionBatch(cardInfo.getCardCompany(), batch);
+                            if (latest != null) {
+                                cardInfoRepository.advanceSyncWatermark(cardInfo.getCardId(), latest);
+                            }
+                            return count;
+                        });
+                        
+                        // 커밋된 뒤에만 재개 지점을 옮긴다
+                        if (latest != null) {
+                            committedUpTo.accumulateAndGet(latest, 
+                                (current, next) -> current == null || next.isAfter(current) ? next : current);
+                        }
+                        fetched.addAndGet(batch.size());
+                        inserted.addAndGet(saved != null ? saved : 0);
+                    });
+                
+                return CardSyncResultDto.builder()
+                    .cardId(cardInfo.getCardId())
+                    .fetchedCount(fetched.get())
+                    .insertedCount(inserted.get())
+                    .fromDate(fromDate)
+                    .toDate(toDate)
+                    .build();
+                
+            } catch (RuntimeException e) {
+                if (attempt >= streamMaxAttempts) {
+                    throw e;
+                }
+                if (committedUpTo.get() != null) {
+                    resumeFrom = committedUpTo.get();
+                }
+                log.warn("Transaction stream failed for card: {} (attempt {}/{}), resuming from {}", 
+                    cardInfo.getCardId(), attempt, streamMaxAttempts, resumeFrom, e);
+                
+                try {
+                    Thread.sleep(streamRetryBackoffMillis * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    private LocalDateTime resolveSyncStart(CardInfo cardInfo) {
+        if (cardInfo.getSyncWatermark() != null) {
+            // 카드사 반영 지연으로 늦게 올라오는 거래를 놓치지 않도록 겹쳐서 조회 (중복은 승인번호로 걸러짐)
+            return cardInfo.getSyncWatermark().minusMinutes(watermarkOverlapMinutes);
         }
         
-        // 거래내역 저장
-        TransactionRecord savedTransaction = transactionRepository.save(transaction);
+        return cardInfo.getLastSyncDate() != null 
+            ? cardInfo.getLastSyncDate() 
+            : LocalDateTime.now().minusMonths(1);
+    }
+    
+    /**
+     * 배치 저장 (새로 저장한 건수 반환)
+     * 배치의 승인번호를 카드별 IN 조회로 확인해 이미 저장된 거래는 건너뛴다.
+     * 카드사가 조회 구간을 일 단위로 절삭해 돌려줘도 구간과 무관하게 중복을 판단한다.
+     * 이전 배치는 이미 커밋(또는 같은 트랜잭션에서 flush)되어 조회에 잡히므로, 배치 밖에 승인번호를 따로 모으지 않는다.
+     * (롤백된 배치의 승인번호가 남아 재시도 시 누락되는 일이 없도록)
+     * ID 는 풀링 생성기로 미리 할당되므로 flush 시 거래내역/영수증/품목이 테이블별 JDBC 배치로 전송된다.
+     */
+    private int saveTransactionBatch(String cardCompany, List<TransactionRecord> batch) {
+        Set<String> knownApprovals = new HashSet<>();
+        batch.stream()
+            .collect(Collectors.groupingBy(
+                transaction -> transaction.getCardInfo().getCardId(),
+                Collectors.mapping(TransactionRecord::getApprovalNumber, Collectors.toSet())))
+            .forEach((cardId, approvalNumbers) -> transactionRepository
+                .findExistingApprovalNumbers(cardId, approvalNumbers)
+                .forEach(approvalNumber -> knownApprovals.add(dedupKey(cardId, approvalNumber))));
         
-        // 전자영수증 생성
-        ElectronicReceipt receipt = ElectronicReceipt.builder()
-            .transactionRecord(savedTransaction)
-            .receiptType(ElectronicReceipt.ReceiptType.CARD_SLIP)
-            .issueDate(transaction.getTransactionDateTime())
-            .receiptNumber(generateReceiptNumber(transaction))
-            .isVerified(false)
-            .build();
+        List<TransactionRecord> newTransactions = new ArrayList<>(batch.size());
+        for (TransactionRecord transaction : batch) {
+            if (!knownApprovals.add(dedupKey(transaction.getCardInfo().getCardId(), transaction.getApprovalNumber()))) {
+                log.debug("Transaction already exists: {}", transaction.getApprovalNumber());
+                continue;
+            }
+            newTransactions.add(transaction);
+        }
+        metrics.recordDedup(cardCompany, batch.size() - newTransactions.size(), newTransactions.size());
         
-        // 영수증 이미지/PDF 다운로드 (비동기)
-        downloadReceiptDocument(receipt);
+        if (newTransactions.isEmpty()) {
+            return 0;
+        }
+        
+        // 거래내역 저장 및 영수증 생성
+        List<TransactionRecord> savedTransactions = transactionRepository.saveAll(newTransactions);
+        List<ElectronicReceipt> savedReceipts = receiptRepository.saveAll(savedTransactions.stream()
+            .map(this::createReceipt)
+            .collect(Collectors.toList()));
+        
+        entityManager.flush();
         
-        return receiptRepository.save(receipt);
+        // 영수증 이미지/PDF 다운로드는 작업 큐에서 처리 (커밋 후 작업자가 가져감)
+        downloadQueueService.enqueueAll(savedReceipts);
+        
+        // 저장한 엔티티는 영속성 컨텍스트에서 분리해 배치 크기 이상으로 쌓이지 않도록 함
+        for (ElectronicReceipt receipt : savedReceipts) {
+            entityManager.detach(receipt.getTransactionRecord());
+            entityManager.detach(receipt);
+        }
+        
+        return newTransactions.size();
     }
     
-    @Async("receiptProcessingExecutor")
-    public CompletableFuture<Void> downloadReceiptDocument(ElectronicReceipt receipt) {
-        try {
-            // 카드사 API에서 영수증 이미지/PDF 다운로드
-            String receiptUrl = cardApiAggregatorService
-                .downloadReceiptDocument(receipt.getTransactionRecord());
-            
-            receipt.setReceiptImageUrl(receiptUrl);
-            receipt.setIsVerified(true);
-            receiptRepository.save(receipt);
+    /**
+     * 카드사 푸시 이벤트 일괄 반영
+     * 승인 건은 일반 동기화와 같은 경로로 저장하고, 취소 건은 카드별로 묶어 한 번에 상태를 바꾼다.
+     * 아직 저장되지 않은 거래의 취소 이벤트는 취소 상태로 새로 저장한다.
+     */
+    @Transactional
+    public int ingestPushedTransactions(String cardCompany, List<ProviderWebhookDto.TransactionEvent> events) {
+        Set<Long> cardIds = events.stream()
+            .map(ProviderWebhookDto.TransactionEvent::getCardId)
+            .collect(Collectors.toSet());
+        
+        Map<Long, CardInfo> cards = cardInfoRepository.findAllById(cardIds).stream()
+            .filter(card -> Boolean.TRUE.equals(card.getIsActive()))
+            .filter(card -> cardCompany.equalsIgnoreCase(card.getCardCompany()))
+            .collect(Collectors.toMap(CardInfo::getCardId, Function.identity()));
+        
+        List<TransactionRecord> records = new ArrayList<>(events.size());
+        Map<Long, Set<String>> cancellations = new HashMap<>();
+        
+        for (ProviderWebhookDto.TransactionEvent event : events) {
+            CardInfo card = cards.get(event.getCardId());
+            if (card == null) {
+                log.warn("Dropping pushed event {} for unknown card: {}", event.getEventId(), event.getCardId());
+                continue;
+            }
             
-        } catch (Exception e) {
-            log.error("Failed to download receipt document: {}", receipt.getReceiptId(), e);
+            records.add(convertPushedEvent(event, card));
+            if (event.isCancellation()) {
+                cancellations.computeIfAbsent(card.getCardId(), id -> new HashSet<>())
+                    .add(event.getApprovalNumber());
+            }
+        }
+        
+        for (int i = 0; i < records.size(); i += syncBatchSize) {
+            saveTransactionBatch(cardCompany, records.subList(i, Math.min(i + syncBatchSize, records.size())));
         }
         
-        return CompletableFuture.completedFuture(null);
+        cancellations.forEach(transactionRepository::markCancelled);
+        
+        return records.size();
+    }
+    
+    private ElectronicReceipt createReceipt(TransactionRecord transaction) {
+        return ElectronicReceipt.builder()
+            .transactionRecord(transaction)
+            .receiptType(ElectronicReceipt.ReceiptType.CARD_SLIP)
+            .issueDate(transaction.getTransactionDateTime())
+            .receiptNumber(generateReceiptNumber(transaction))
+            .isVerified(false)
+            .build();
     }
     
     public Page<ReceiptResponseDto> searchReceipts(ReceiptSearchDto searchDto, Pageable pageable) {
-        return receiptRepository.searchReceipts(searchDto, pageable)
-            .map(this::convertToDto);
+        return receiptRepository.searchReceipts(searchDto, pageable);
     }
     
+    /**
+     * 커서 기반 영수증 검색
+     * 전체 건수는 includeCount 일 때만 별도 조회한다.
+     */
+    public ReceiptCursorPageDto searchReceiptsByCursor(ReceiptSearchDto searchDto, String cursorToken, 
+                                                       int size, boolean includeCount) {
+        size = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        String sortBy = SEEK_SORT_KEYS.contains(searchDto.getSortBy()) ? searchDto.getSortBy() : "issueDate";
+        boolean ascending = "ASC".equalsIgnoreCase(searchDto.getSortDirection());
+        ReceiptSearchCursor cursor = cursorToken != null 
+            ? ReceiptSearchCursor.decode(cursorToken, sortBy, ascending) 
+            : null;
+        
+        // 한 건 더 조회해 다음 페이지 존재 여부 확인
+        List<ReceiptResponseDto> rows = receiptRepository.searchReceiptsAfter(searchDto, sortBy, ascending, cursor, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<ReceiptResponseDto> page = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+        
+        return ReceiptCursorPageDto.builder()
+            .content(page)
+            .hasNext(hasNext)
+            .nextCursor(hasNext 
+                ? ReceiptSearchCursor.after(page.get(page.size() - 1), sortBy, ascending).encode() 
+                : null)
+            .totalCount(includeCount ? receiptRepository.countReceipts(searchDto) : null)
+            .build();
+    }
+    
+    /**
+     * 영수증 상세 조회
+     * 영수증/거래/카드/품목 1회, 매칭 내역 1회로 매칭 건수와 무관하게 쿼리 수가 고정된다.
+     */
     public ReceiptResponseDto getReceiptById(Long receiptId) {
+        ElectronicReceipt receipt = receiptRepository.findDetailById(receiptId)
+            .orElseThrow(() -> new ReceiptNotFoundException("Receipt not found: " + receiptId));
+        List<AccountingMatch> matches = matchRepository.findByReceiptIdWithMatcher(receiptId);
+        
+        return convertToDetailDto(receipt, matches);
+    }
+    
+    public String getReceiptDocumentLocation(Long receiptId) {
         ElectronicReceipt receipt = receiptRepository.findById(receiptId)
             .orElseThrow(() -> new ReceiptNotFoundException("Receipt not found: " + receiptId));
         
-        return convertToDto(receipt);
+        String location = receipt.getReceiptPdfUrl() != null 
+            ? receipt.getReceiptPdfUrl() 
+            : receipt.getReceiptImageUrl();
+        
+        if (location == null) {
+            throw new ReceiptNotFoundException("Receipt document not found: " + receiptId);
+        }
+        
+        return location;
     }
     
-    private ReceiptResponseDto convertToDto(ElectronicReceipt receipt) {
+    private ReceiptResponseDto convertToDetailDto(ElectronicReceipt receipt, List<AccountingMatch> matches) {
+        TransactionRecord transaction = receipt.getTransactionRecord();
+        CardInfo card = transaction.getCardInfo();
+        
         return ReceiptResponseDto.builder()
             .receiptId(receipt.getReceiptId())
-            .transactionDate(receipt.getTransactionRecord().getTransactionDateTime())
-            .merchantName(receipt.getTransactionRecord().getMerchantName())
-            .amount(receipt.getTransactionRecord().getAmount())
+            .receiptNumber(receipt.getReceiptNumber())
             .receiptType(receipt.getReceiptType().name())
-            .receiptImageUrl(receipt.getReceiptImageUrl())
+            .issueDate(receipt.getIssueDate())
+            .transactionDate(transaction.getTransactionDateTime())
+            .approvalNumber(transaction.getApprovalNumber())
+            .merchantName(transaction.getMerchantName())
+            .merchantBizNumber(transaction.getMerchantBizNumber())
+            .merchantCategory(transaction.getMerchantCategory())
+            .amount(transaction.getAmount())
+            .vatAmount(transaction.getVatAmount())
+            .serviceFee(transaction.getServiceFee())
+            .totalAmount(transaction.getAmount())
+            .currency(transaction.getCurrency())
+            .cardId(card.getCardId())
+            .cardCompany(card.getCardCompany())
+            .cardNumberMasked(card.getCardNumberMasked())
+            .cardAlias(card.getCardAlias())
+            .matchStatus(receipt.getMatchState().name())
+            .matches(matches.stream().map(this::convertMatchInfo).collect(Collectors.toList()))
             .isVerified(receipt.getIsVerified())
-            .matchStatus(receipt.getAccountingMatches().isEmpty() ? "UNMATCHED" : "MATCHED")
+            .verificationDate(receipt.getVerificationDate())
+            .verificationMethod(receipt.getVerificationMethod())
+            .receiptImageUrl(receipt.getReceiptImageUrl())
+            .receiptPdfUrl(receipt.getReceiptPdfUrl())
+            .hasDocument(receipt.getReceiptImageUrl() != null || receipt.getReceiptPdfUrl() != null)
+            .items(receipt.getItems().stream().map(this::convertItem).collect(Collectors.toList()))
+            .additionalData(receipt.getReceiptData())
+            .createdAt(receipt.getCreatedAt())
+            .updatedAt(receipt.getUpdatedAt())
+            .build();
+    }
+    
+    private ReceiptResponseDto.MatchInfo convertMatchInfo(AccountingMatch match) {
+        return ReceiptResponseDto.MatchInfo.builder()
+            .matchId(match.getMatchId())
+            .erpLedgerId(match.getErpLedgerId())
+            .accountCode(match.getAccountCode())
+            .accountName(match.getAccountName())
+            .costCenter(match.getCostCenter())
+            .matchedAmount(match.getMatchedAmount())
+            .matchStatus(match.getMatchStatus().name())
+            .matchType(match.getMatchType().name())
+            .matchedByName(match.getMatchedBy() != null ? match.getMatchedBy().getUsername() : null)
+            .matchedAt(match.getMatchedAt())
+            .approvalStatus(match.getApprovalStatus() != null ? match.getApprovalStatus().name() : null)
+            .notes(match.getNotes())
             .build();
     }
     
+    private ReceiptResponseDto.ReceiptItemDto convertItem(ElectronicReceipt.ReceiptItem item) {
+        return ReceiptResponseDto.ReceiptItemDto.builder()
+            .itemName(item.getItemName())
+            .quantity(item.getQuantity())
+            .unitPrice(item.getUnitPrice() != null ? BigDecimal.valueOf(item.getUnitPrice()) : null)
+            .amount(item.getAmount() != null ? BigDecimal.valueOf(item.getAmount()) : null)
+            .taxAmount(item.getTaxAmount() != null ? BigDecimal.valueOf(item.getTaxAmount()) : null)
+            .itemCategory(item.getItemCategory())
+            .build();
+    }
+    
+    private TransactionRecord convertPushedEvent(ProviderWebhookDto.TransactionEvent event, CardInfo card) {
+        Map<String, Object> rawData = new HashMap<>();
+        rawData.put("event_id", event.getEventId());
+        rawData.put("event_type", event.getEventType());
+        
+        return TransactionRecord.builder()
+            .cardInfo(card)
+            .transactionDateTime(event.getTransactionDateTime())
+            .approvalNumber(event.getApprovalNumber())
+            .merchantName(event.getMerchantName())
+            .merchantBizNumber(event.getMerchantBizNumber())
+            .merchantCategory(event.getMerchantCategory())
+            .amount(event.getAmount())
+            .vatAmount(event.getVatAmount() != null ? event.getVatAmount() : BigDecimal.ZERO)
+            .currency(event.getCurrency() != null ? event.getCurrency() : "KRW")
+            .paymentType(event.getPaymentType() != null 
+                ? TransactionRecord.PaymentType.valueOf(event.getPaymentType()) 
+                : TransactionRecord.PaymentType.CREDIT)
+            .installmentMonths(event.getInstallmentMonths() != null ? event.getInstallmentMonths() : 0)
+            .transactionStatus(event.isCancellation() 
+                ? TransactionRecord.TransactionStatus.CANCELLED 
+                : TransactionRecord.TransactionStatus.APPROVED)
+            .rawData(rawData)
+            .build();
+    }
+    
+    private static String dedupKey(Long cardId, String approvalNumber) {
+        return cardId + ":" + approvalNumber;
+    }
+    
     private String generateReceiptNumber(TransactionRecord transaction) {
         return String.format("%s-%s-%s", 
             transaction.getCardInfo().getCardCompany(),
@@ -0,0 +1,36 @@
+package com.company.receipt.storage;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+public interface DocumentStore {
+    
+    /**
+     * 문서 저장
+     * source 를 끝까지 읽어 저장소에 기록하고, 기록하는 동안 SHA-256 해시를 계산한다.
+     * 저장 위치는 내용 해시로 결정되며, 같은 내용이 이미 있으면 새로 기록하지 않는다.
+     */
+    StoredDocument store(ReadableByteChannel source, String contentType) throws IOException;
+    
+    /**
+     * 저장된 문서 존재 여부
+     */
+    boolean exists(String location);
+    
+    /**
+     * 저장된 문서 크기 (byte)
+     */
+    long size(String location) throws IOException;
+    
+    /**
+     * 저장된 문서의 position 부터 count 바이트를 target 으로 전송
+     * @return 실제 전송한 바이트 수
+     */
+    long transferTo(String location, long position, long count, WritableByteChannel target) throws IOException;
+    
+    /**
+     * 저장된 문서 삭제
+     */
+    void delete(String location) throws IOException;
+}
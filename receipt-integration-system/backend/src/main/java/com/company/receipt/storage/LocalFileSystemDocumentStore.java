@@ -0,0 +1,158 @@
+package com.company.receipt.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 로컬 파일시스템 문서 저장소
+ * 카드사 응답을 고정 크기 direct buffer 로 읽어 파일 채널에 바로 쓰며, 파일 전체를 힙에 올리지 않는다.
+ * 파일은 SHA-256 해시 기준 경로(ab/cd/abcd....pdf)에 저장되어 같은 내용은 한 번만 보관된다.
+ */
+@Component
+@Slf4j
+public class LocalFileSystemDocumentStore implements DocumentStore {
+    
+    @Value("${receipt.storage.local.root:/var/lib/receipt/documents}")
+    private String rootDirectory;
+    
+    @Value("${receipt.storage.local.buffer-size:65536}")
+    private int bufferSize;
+    
+    private static final String TEMP_DIRECTORY = ".tmp";
+    
+    private Path root;
+    
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(rootDirectory).toAbsolutePath().normalize();
+        Files.createDirectories(root.resolve(TEMP_DIRECTORY));
+        log.info("Local document store initialized at {}", root);
+    }
+    
+    @Override
+    public StoredDocument store(ReadableByteChannel source, String contentType) throws IOException {
+        MessageDigest digest = newDigest();
+        Path tempFile = Files.createTempFile(root.resolve(TEMP_DIRECTORY), "upload-", ".part");
+        long size = 0;
+        
+        try {
+            try (FileChannel out = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+                
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        size += out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                out.force(false);
+            }
+            
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            String location = contentAddressedLocation(sha256, contentType);
+            Path target = resolve(location);
+            
+            if (Files.exists(target)) {
+                log.debug("Document already stored: {}", location);
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // 같은 내용이 동시에 저장된 경우 - 먼저 저장된 파일을 그대로 사용
+                    log.debug("Document stored concurrently: {}", location);
+                }
+            }
+            
+            return StoredDocument.builder()
+                .location(location)
+                .sha256(sha256)
+                .size(size)
+                .contentType(contentType)
+                .build();
+            
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+    
+    @Override
+    public boolean exists(String location) {
+        return Files.isRegularFile(resolve(location));
+    }
+    
+    @Override
+    public long size(String location) throws IOException {
+        return Files.size(resolve(location));
+    }
+    
+    @Override
+    public long transferTo(String location, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel in = FileChannel.open(resolve(location), StandardOpenOption.READ)) {
+            long end = Math.min(position + count, in.size());
+            long transferred = 0;
+            
+            while (position + transferred < end) {
+                long written = in.transferTo(position + transferred, end - position - transferred, target);
+                if (written <= 0) {
+                    break;
+                }
+                transferred += written;
+            }
+            
+            return transferred;
+        }
+    }
+    
+    @Override
+    public void delete(String location) throws IOException {
+        Files.deleteIfExists(resolve(location));
+    }
+    
+    private String contentAddressedLocation(String sha256, String contentType) {
+        return sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256 + extensionOf(contentType);
+    }
+    
+    private String extensionOf(String contentType) {
+        if (contentType == null) {
+            return ".pdf";
+        }
+        if (contentType.startsWith("image/png")) {
+            return ".png";
+        }
+        if (contentType.startsWith("image/jpeg") || contentType.startsWith("image/jpg")) {
+            return ".jpg";
+        }
+        return ".pdf";
+    }
+    
+    private Path resolve(String location) {
+        Path path = root.resolve(location).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid document location: " + location);
+        }
+        return path;
+    }
+    
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.company.receipt.storage;
+
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+@Builder
+@ToString
+public class StoredDocument {
+    
+    private final String location; // 저장소 내부 경로
+    
+    private final String sha256; // 내용 해시 (hex)
+    
+    private final long size;
+    
+    private final String contentType;
+    
+    public boolean isPdf() {
+        return contentType == null || contentType.startsWith("application/pdf");
+    }
+}
@@ -0,0 +1,155 @@
+package com.company.receipt.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * BIN 범위 조회 테이블
+ * 모든 범위를 8자리 BIN 정수 구간으로 정규화하고, 포함 관계는 가장 좁은 범위가 이기도록
+ * 서로 겹치지 않는 구간으로 펼친 뒤 정렬된 int 배열에서 이진 탐색한다 (조회 시 객체 할당 없음).
+ */
+final class BinRangeTable {
+    
+    static final int BIN_LENGTH = 8;
+    
+    private final int[] starts;
+    private final int[] ends;
+    private final String[] companies;
+    
+    private BinRangeTable(int[] starts, int[] ends, String[] companies) {
+        this.starts = starts;
+        this.ends = ends;
+        this.companies = companies;
+    }
+    
+    /**
+     * 카드번호 앞 8자리로 카드사 조회 (숫자 검증은 호출측 책임)
+     */
+    String lookup(CharSequence cardNumber) {
+        int bin = 0;
+        for (int i = 0; i < BIN_LENGTH; i++) {
+            bin = bin * 10 + (cardNumber.charAt(i) - '0');
+        }
+        
+        int index = Arrays.binarySearch(starts, bin);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index >= 0 && bin <= ends[index] ? companies[index] : null;
+    }
+    
+    int size() {
+        return starts.length;
+    }
+    
+    static BinRangeTable load(InputStream input) throws IOException {
+        List<Range> ranges = new ArrayList<>();
+        
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                
+                String[] fields = line.split(",");
+                if (fields.length != 3) {
+                    throw new IllegalArgumentException("Invalid BIN range line: " + line);
+                }
+                ranges.add(new Range(pad(fields[0].trim(), '0'), pad(fields[1].trim(), '9'), fields[2].trim()));
+            }
+        }
+        
+        return flatten(ranges);
+    }
+    
+    /**
+     * 포함 관계의 범위를 겹치지 않는 구간으로 펼침 (넓은 범위 안의 좁은 범위가 해당 구간을 차지)
+     */
+    private static BinRangeTable flatten(List<Range> ranges) {
+        ranges.sort(Comparator.comparingInt((Range r) -> r.start).thenComparing(r -> -r.end));
+        
+        List<Range> segments = new ArrayList<>();
+        Deque<Range> open = new ArrayDeque<>();
+        int cursor = 0;
+        
+        for (Range range : ranges) {
+            while (!open.isEmpty() && open.peek().end < range.start) {
+                Range closed = open.pop();
+                addSegment(segments, cursor, closed.end, closed.company);
+                cursor = Math.max(cursor, closed.end + 1);
+            }
+            
+            if (!open.isEmpty()) {
+                if (range.end > open.peek().end) {
+                    throw new IllegalArgumentException("Partially overlapping BIN ranges: " 
+                        + open.peek().start + "-" + open.peek().end + ", " + range.start + "-" + range.end);
+                }
+                addSegment(segments, cursor, range.start - 1, open.peek().company);
+            }
+            
+            cursor = range.start;
+            open.push(range);
+        }
+        
+        while (!open.isEmpty()) {
+            Range closed = open.pop();
+            addSegment(segments, cursor, closed.end, closed.company);
+            cursor = Math.max(cursor, closed.end + 1);
+        }
+        
+        int[] starts = new int[segments.size()];
+        int[] ends = new int[segments.size()];
+        String[] companies = new String[segments.size()];
+        for (int i = 0; i < segments.size(); i++) {
+            starts[i] = segments.get(i).start;
+            ends[i] = segments.get(i).end;
+            companies[i] = segments.get(i).company.intern();
+        }
+        return new BinRangeTable(starts, ends, companies);
+    }
+    
+    private static void addSegment(List<Range> segments, int start, int end, String company) {
+        if (start <= end) {
+            segments.add(new Range(start, end, company));
+        }
+    }
+    
+    private static int pad(String prefix, char fill) {
+        if (prefix.isEmpty() || prefix.length() > BIN_LENGTH) {
+            throw new IllegalArgumentException("Invalid BIN prefix: " + prefix);
+        }
+        
+        int value = 0;
+        for (int i = 0; i < BIN_LENGTH; i++) {
+            char c = i < prefix.length() ? prefix.charAt(i) : fill;
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Invalid BIN prefix: " + prefix);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+    
+    private static final class Range {
+        private final int start;
+        private final int end;
+        private final String company;
+        
+        private Range(int start, int end, String company) {
+            this.start = start;
+            this.end = end;
+            this.company = company;
+        }
+    }
+}
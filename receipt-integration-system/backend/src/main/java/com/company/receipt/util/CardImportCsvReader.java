@@ -0,0 +1,108 @@
+package com.company.receipt.util;
+
+import com.company.receipt.dto.CardRegistrationDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 카드 대량 등록 CSV 읽기
+ * 첫 줄은 헤더(cardCompany,cardNumber,cardAlias,cardType,authType,authCredentials, 순서 무관)이며
+ * 큰따옴표로 감싼 값 안의 쉼표/따옴표("")를 허용한다. 빈 값은 null 로 두고 검증은 등록 단계에서 행별로 한다.
+ */
+public final class CardImportCsvReader {
+
+    private static final String[] COLUMNS = {
+        "cardCompany", "cardNumber", "cardAlias", "cardType", "authType", "authCredentials"
+    };
+
+    private CardImportCsvReader() {
+    }
+
+    public static List<CardRegistrationDto> read(Reader source) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return new ArrayList<>();
+        }
+        if (!headerLine.isEmpty() && headerLine.charAt(0) == '\uFEFF') {
+            headerLine = headerLine.substring(1); // Excel UTF-8 BOM
+        }
+
+        Map<String, Integer> columnIndex = new HashMap<>();
+        List<String> header = parseLine(headerLine);
+        for (int i = 0; i < header.size(); i++) {
+            columnIndex.put(header.get(i).trim(), i);
+        }
+        for (String column : new String[] {"cardCompany", "cardNumber", "authCredentials"}) {
+            if (!columnIndex.containsKey(column)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + column);
+            }
+        }
+
+        List<CardRegistrationDto> rows = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+
+            List<String> values = parseLine(line);
+            String[] fields = new String[COLUMNS.length];
+            for (int i = 0; i < COLUMNS.length; i++) {
+                Integer index = columnIndex.get(COLUMNS[i]);
+                if (index != null && index < values.size()) {
+                    String value = values.get(index).trim();
+                    fields[i] = value.isEmpty() ? null : value;
+                }
+            }
+
+            rows.add(CardRegistrationDto.builder()
+                .cardCompany(fields[0])
+                .cardNumber(fields[1])
+                .cardAlias(fields[2])
+                .cardType(fields[3] != null ? fields[3] : "CORPORATE")
+                .authType(fields[4])
+                .authCredentials(fields[5])
+                .build());
+        }
+
+        return rows;
+    }
+
+    private static List<String> parseLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+
+        return values;
+    }
+}
@@ -2,13 +2,25 @@ package com.company.receipt.util;
 
 import org.springframework.stereotype.Component;
 
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 
+/**
+ * 카드번호 검증/마스킹/카드사 식별
+ * 대량 등록/검증 경로에서 호출되므로 정규식과 String.format 없이 문자 연산으로 처리한다.
+ */
 @Component
 public class CardNumberUtil {
     
-    private static final Pattern CARD_NUMBER_PATTERN = Pattern.compile("^[0-9]{16}$");
-    private static final Pattern MASKED_CARD_PATTERN = Pattern.compile("^[0-9]{4}-\\*{4}-\\*{4}-[0-9]{4}$");
+    private static final int CARD_NUMBER_LENGTH = 16;
+    private static final int MASKED_LENGTH = 19; // 1234-****-****-3456
+    private static final String BIN_RANGE_RESOURCE = "/bin-ranges.csv";
+    
+    // Luhn 짝수 자리 변환 (2배 후 자릿수 합)
+    private static final int[] LUHN_DOUBLED = {0, 2, 4, 6, 8, 1, 3, 5, 7, 9};
+    
+    private static final BinRangeTable BIN_RANGES = loadBinRanges();
     
     /**
      * 카드번호 마스킹 처리
@@ -19,10 +31,15 @@ public class CardNumberUtil {
             throw new IllegalArgumentException("Invalid card number");
         }
         
-        return String.format("%s-****-****-%s",
-            cardNumber.substring(0, 4),
-            cardNumber.substring(12)
-        );
+        char[] masked = new char[MASKED_LENGTH];
+        cardNumber.getChars(0, 4, masked, 0);
+        masked[4] = '-';
+        masked[5] = masked[6] = masked[7] = masked[8] = '*';
+        masked[9] = '-';
+        masked[10] = masked[11] = masked[12] = masked[13] = '*';
+        masked[14] = '-';
+        cardNumber.getChars(12, 16, masked, 15);
+        return new String(masked);
     }
     
     /**
@@ -34,14 +51,19 @@ public class CardNumberUtil {
             throw new IllegalArgumentException("Invalid card number");
         }
         
-        return "*".repeat(12) + cardNumber.substring(12);
+        char[] masked = new char[CARD_NUMBER_LENGTH];
+        for (int i = 0; i < 12; i++) {
+            masked[i] = '*';
+        }
+        cardNumber.getChars(12, 16, masked, 12);
+        return new String(masked);
     }
     
     /**
      * 카드번호 유효성 검증 (Luhn 알고리즘)
      */
     public static boolean isValidCardNumber(String cardNumber) {
-        if (cardNumber == null || !CARD_NUMBER_PATTERN.matcher(cardNumber).matches()) {
+        if (cardNumber == null || cardNumber.length() != CARD_NUMBER_LENGTH) {
             return false;
         }
         
@@ -52,40 +74,39 @@ public class CardNumberUtil {
      * 마스킹된 카드번호 형식 검증
      */
     public static boolean isValidMaskedCardNumber(String maskedCardNumber) {
-        return maskedCardNumber != null && 
-               MASKED_CARD_PATTERN.matcher(maskedCardNumber).matches();
+        if (maskedCardNumber == null || maskedCardNumber.length() != MASKED_LENGTH) {
+            return false;
+        }
+        
+        for (int i = 0; i < MASKED_LENGTH; i++) {
+            char c = maskedCardNumber.charAt(i);
+            boolean valid;
+            if (i == 4 || i == 9 || i == 14) {
+                valid = c == '-';
+            } else if (i < 4 || i > 14) {
+                valid = c >= '0' && c <= '9';
+            } else {
+                valid = c == '*';
+            }
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
     }
     
     /**
-     * 카드사 식별 (BIN 기반)
+     * 카드사 식별 (BIN 범위 테이블, O(log n) 조회)
      */
     public static String identifyCardCompany(String cardNumber) {
         if (!isValidCardNumber(cardNumber)) {
             return "UNKNOWN";
         }
         
-        String bin = cardNumber.substring(0, 6);
-        
-        // 실제 BIN 데이터베이스를 사용해야 하지만, 간단한 예시
-        if (bin.startsWith("4")) {
-            return "VISA";
-        } else if (bin.startsWith("5")) {
-            return "MASTERCARD";
-        } else if (bin.startsWith("37")) {
-            return "AMEX";
-        } else if (bin.startsWith("62")) {
-            return "UNIONPAY";
-        }
-        
-        // 국내 카드사 BIN 예시
-        if (bin.startsWith("404117") || bin.startsWith("438676")) {
-            return "SHINHAN";
-        } else if (bin.startsWith("457973") || bin.startsWith("450823")) {
-            return "KB";
-        } else if (bin.startsWith("365154") || bin.startsWith("520121")) {
-            return "SAMSUNG";
-        } else if (bin.startsWith("433026") || bin.startsWith("433027")) {
-            return "HYUNDAI";
+        // 6/8자리 BIN 범위 중 가장 좁은 범위의 카드사 (bin-ranges.csv)
+        String company = BIN_RANGES.lookup(cardNumber);
+        if (company != null) {
+            return company;
         }
         
         return "UNKNOWN";
@@ -143,26 +164,33 @@ public class CardNumberUtil {
     }
     
     /**
-     * Luhn 알고리즘 체크
+     * Luhn 알고리즘 체크 (숫자가 아닌 문자가 있으면 false)
      */
     private static boolean checkLuhn(String cardNumber) {
         int sum = 0;
         boolean alternate = false;
         
         for (int i = cardNumber.length() - 1; i >= 0; i--) {
-            int n = Integer.parseInt(cardNumber.substring(i, i + 1));
-            
-            if (alternate) {
-                n *= 2;
-                if (n > 9) {
-                    n = (n % 10) + 1;
-                }
+            int n = cardNumber.charAt(i) - '0';
+            if (n < 0 || n > 9) {
+                return false;
             }
             
-            sum += n;
+            sum += alternate ? LUHN_DOUBLED[n] : n;
             alternate = !alternate;
         }
         
         return (sum % 10 == 0);
     }
+    
+    private static BinRangeTable loadBinRanges() {
+        try (InputStream input = CardNumberUtil.class.getResourceAsStream(BIN_RANGE_RESOURCE)) {
+            if (input == null) {
+                throw new IllegalStateException("BIN range table not found: " + BIN_RANGE_RESOURCE);
+            }
+            return BinRangeTable.load(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load BIN range table", e);
+        }
+    }
 }
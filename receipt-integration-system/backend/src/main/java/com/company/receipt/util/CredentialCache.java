@@ -0,0 +1,92 @@
+package com.company.receipt.util;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.company.receipt.domain.CardInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 복호화된 카드 인증 정보 단기 캐시 (동기화 중 API 호출마다 반복되는 복호화 제거)
+ * 값은 String 이 아닌 char[] 로 보관하고, 만료/제거 시 0 으로 덮어쓴다.
+ * credentials_version 이 다르면 (다른 노드에서 인증 정보 변경) 캐시 값을 쓰지 않고 다시 복호화한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CredentialCache {
+    
+    private final EncryptionUtil encryptionUtil;
+    
+    @Value("${receipt.credentials.cache.maximum-size:1000}")
+    private long maximumSize;
+    
+    @Value("${receipt.credentials.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+    
+    private Cache<Long, Entry> cache;
+    
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .removalListener((Long cardId, Entry entry, RemovalCause cause) -> {
+                if (entry != null) {
+                    entry.wipe();
+                }
+            })
+            .build();
+    }
+    
+    /**
+     * 복호화된 인증 정보 사본 반환 (호출측에서 사용 후 0 으로 덮어써야 함)
+     */
+    public char[] getDecrypted(CardInfo cardInfo) {
+        int version = cardInfo.getCredentialsVersion() != null ? cardInfo.getCredentialsVersion() : 0;
+        
+        Entry entry = cache.getIfPresent(cardInfo.getCardId());
+        if (entry != null && entry.version == version) {
+            // 제거 리스너가 원본을 지울 수 있으므로 지우기와 같은 잠금 안에서 사본을 만든다 (이미 지워졌으면 다시 복호화)
+            char[] copy = entry.copy();
+            if (copy != null) {
+                return copy;
+            }
+        }
+        
+        char[] secret = encryptionUtil.decryptToChars(cardInfo.getAuthCredentials());
+        cache.put(cardInfo.getCardId(), new Entry(version, secret.clone()));
+        return secret;
+    }
+    
+    public void invalidate(Long cardId) {
+        cache.invalidate(cardId);
+    }
+    
+    private static final class Entry {
+        private final int version;
+        private final char[] secret;
+        private boolean wiped;
+        
+        private Entry(int version, char[] secret) {
+            this.version = version;
+            this.secret = secret;
+        }
+        
+        private synchronized char[] copy() {
+            return wiped ? null : secret.clone();
+        }
+        
+        private synchronized void wipe() {
+            Arrays.fill(secret, '\0');
+            wiped = true;
+        }
+    }
+}
@@ -1,38 +1,107 @@
 package com.company.receipt.util;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 인증 정보 암복호화 (AES-GCM, 메시지별 임의 IV)
+ * 암호문 형식: "v{키버전}:" + Base64(IV 12바이트 + 암호문 + 인증 태그)
+ * 버전 접두어가 없는 값은 기존 AES-CBC(고정 IV) 암호문으로 보고 복호화만 지원한다.
+ * 키와 Cipher 는 미리/스레드별로 준비해 호출마다 다시 만들지 않는다.
+ */
 @Component
 public class EncryptionUtil {
     
     @Value("${encryption.key}")
     private String encryptionKey;
     
-    @Value("${encryption.iv}")
+    @Value("${encryption.iv:}")
     private String encryptionIv;
     
-    private static final String ALGORITHM = "AES/CBC/PKCS5Padding";
+    // 버전별 키 (형식: "1:Base64키,2:Base64키"), 비어 있으면 encryption.key 를 버전 1 로 사용
+    @Value("${encryption.keys:}")
+    private String versionedKeys;
+    
+    @Value("${encryption.active-key-version:1}")
+    private int activeKeyVersion;
+    
+    private static final String ALGORITHM = "AES/GCM/NoPadding";
+    private static final String LEGACY_ALGORITHM = "AES/CBC/PKCS5Padding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+    private static final String VERSION_PREFIX = "v";
+    private static final char VERSION_SEPARATOR = ':';
+    
+    // Cipher 는 스레드 안전하지 않으므로 스레드별로 재사용
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(() -> newCipher(ALGORITHM));
+    private static final ThreadLocal<Cipher> LEGACY_CIPHER = ThreadLocal.withInitial(() -> newCipher(LEGACY_ALGORITHM));
+    
+    private final SecureRandom secureRandom = new SecureRandom();
+    
+    private Map<Integer, SecretKey> keys;
+    private SecretKey activeKey;
+    private String activePrefix;
+    private SecretKey legacyKey;
+    private IvParameterSpec legacyIv;
+    
+    @PostConstruct
+    public void init() {
+        legacyKey = new SecretKeySpec(encryptionKey.getBytes(StandardCharsets.UTF_8), "AES");
+        if (StringUtils.hasText(encryptionIv)) {
+            legacyIv = new IvParameterSpec(encryptionIv.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        keys = new HashMap<>();
+        if (StringUtils.hasText(versionedKeys)) {
+            for (String entry : versionedKeys.split(",")) {
+                String[] parts = entry.trim().split(":", 2);
+                keys.put(Integer.valueOf(parts[0].trim()), 
+                    new SecretKeySpec(Base64.getDecoder().decode(parts[1].trim()), "AES"));
+            }
+        } else {
+            keys.put(1, legacyKey);
+        }
+        
+        activeKey = keys.get(activeKeyVersion);
+        if (activeKey == null) {
+            throw new IllegalStateException("Active encryption key version not configured: " + activeKeyVersion);
+        }
+        activePrefix = VERSION_PREFIX + activeKeyVersion + VERSION_SEPARATOR;
+    }
     
     public String encrypt(String plainText) {
         try {
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            SecretKeySpec keySpec = new SecretKeySpec(
-                encryptionKey.getBytes(StandardCharsets.UTF_8), "AES");
-            IvParameterSpec ivSpec = new IvParameterSpec(
-                encryptionIv.getBytes(StandardCharsets.UTF_8));
+            byte[] iv = new byte[IV_LENGTH];
+            secureRandom.nextBytes(iv);
+            
+            Cipher cipher = CIPHER.get();
+            cipher.init(Cipher.ENCRYPT_MODE, activeKey, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
             
-            cipher.init(Cipher.ENCRYPT_MODE, keySpec, ivSpec);
-            byte[] encrypted = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+            byte[] plain = plainText.getBytes(StandardCharsets.UTF_8);
+            byte[] output = new byte[IV_LENGTH + cipher.getOutputSize(plain.length)];
+            System.arraycopy(iv, 0, output, 0, IV_LENGTH);
+            cipher.doFinal(plain, 0, plain.length, output, IV_LENGTH);
             
-            return Base64.getEncoder().encodeToString(encrypted);
+            return activePrefix + Base64.getEncoder().encodeToString(output);
         } catch (Exception e) {
             throw new RuntimeException("Encryption failed", e);
         }
@@ -40,18 +109,84 @@ public class EncryptionUtil {
     
     public String decrypt(String encryptedText) {
         try {
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            SecretKeySpec keySpec = new SecretKeySpec(
-                encryptionKey.getBytes(StandardCharsets.UTF_8), "AES");
-            IvParameterSpec ivSpec = new IvParameterSpec(
-                encryptionIv.getBytes(StandardCharsets.UTF_8));
-            
-            cipher.init(Cipher.DECRYPT_MODE, keySpec, ivSpec);
-            byte[] decrypted = cipher.doFinal(Base64.getDecoder().decode(encryptedText));
-            
-            return new String(decrypted, StandardCharsets.UTF_8);
+            return new String(decryptToBytes(encryptedText), StandardCharsets.UTF_8);
         } catch (Exception e) {
             throw new RuntimeException("Decryption failed", e);
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * 복호화 결과를 char[] 로 반환 (중간 byte[] 는 즉시 0 으로 덮어씀)
+     */
+    public char[] decryptToChars(String encryptedText) {
+        byte[] decrypted = null;
+        try {
+            decrypted = decryptToBytes(encryptedText);
+            CharBuffer chars = StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(decrypted));
+            char[] result = new char[chars.remaining()];
+            chars.get(result);
+            Arrays.fill(chars.array(), '\0');
+            return result;
+        } catch (Exception e) {
+            throw new RuntimeException("Decryption failed", e);
+        } finally {
+            if (decrypted != null) {
+                Arrays.fill(decrypted, (byte) 0);
+            }
+        }
+    }
+    
+    /**
+     * 현재 활성 키로 암호화된 값이 아니면 재암호화 대상
+     */
+    public boolean needsReEncryption(String encryptedText) {
+        return encryptedText != null && !encryptedText.startsWith(activePrefix);
+    }
+    
+    public String reEncrypt(String encryptedText) {
+        return encrypt(decrypt(encryptedText));
+    }
+    
+    public String getActiveKeyPrefix() {
+        return activePrefix;
+    }
+    
+    private byte[] decryptToBytes(String encryptedText) throws GeneralSecurityException {
+        int separator = encryptedText.indexOf(VERSION_SEPARATOR);
+        
+        // Base64 에는 ':' 가 없으므로 접두어가 없으면 기존 CBC 암호문
+        if (!encryptedText.startsWith(VERSION_PREFIX) || separator < 0) {
+            return decryptLegacy(encryptedText);
+        }
+        
+        int version = Integer.parseInt(encryptedText.substring(VERSION_PREFIX.length(), separator));
+        SecretKey key = keys.get(version);
+        if (key == null) {
+            throw new IllegalStateException("Unknown encryption key version: " + version);
+        }
+        
+        byte[] data = Base64.getDecoder().decode(encryptedText.substring(separator + 1));
+        Cipher cipher = CIPHER.get();
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, data, 0, IV_LENGTH));
+        
+        return cipher.doFinal(data, IV_LENGTH, data.length - IV_LENGTH);
+    }
+    
+    private byte[] decryptLegacy(String encryptedText) throws GeneralSecurityException {
+        if (legacyIv == null) {
+            throw new IllegalStateException("encryption.iv is required to decrypt legacy credentials");
+        }
+        
+        Cipher cipher = LEGACY_CIPHER.get();
+        cipher.init(Cipher.DECRYPT_MODE, legacyKey, legacyIv);
+        return cipher.doFinal(Base64.getDecoder().decode(encryptedText));
+    }
+    
+    private static Cipher newCipher(String algorithm) {
+        try {
+            return Cipher.getInstance(algorithm);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cipher not available: " + algorithm, e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.company.receipt.util;
 
+import com.company.receipt.config.ReceiptMetrics;
 import com.company.receipt.domain.ElectronicReceipt;
 import com.company.receipt.domain.TransactionRecord;
 import com.company.receipt.service.ErpLedgerInfo;
@@ -16,9 +17,12 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class MatchingEngine {
     
+    private final ReceiptMetrics metrics;
+    
     @Value("${matching.date.tolerance.days:3}")
     private int dateToleranceDays;
     
@@ -63,12 +67,22 @@ public class MatchingEngine {
         
         TransactionRecord transaction = receipt.getTransactionRecord();
         
-        List<MatchResult> potentialMatches = candidates.stream()
+        List<MatchResult> scored = candidates.stream()
             .map(ledger -> calculateMatchScore(transaction, ledger))
+            .collect(Collectors.toList());
+        
+        List<MatchResult> potentialMatches = scored.stream()
             .filter(result -> result.getConfidenceScore() >= minScore)
             .sorted(Comparator.comparingDouble(MatchResult::getConfidenceScore).reversed())
             .collect(Collectors.toList());
         
+        // 후보 수, 최소 점수 미달로 제외된 수, 최고 점수 (임계값 조정 근거)
+        metrics.recordMatchEvaluation(
+            scored.size(),
+            scored.size() - potentialMatches.size(),
+            scored.stream().mapToDouble(MatchResult::getConfidenceScore).max().orElse(0.0),
+            !potentialMatches.isEmpty());
+        
         if (potentialMatches.isEmpty()) {
             log.debug("No matches found for receipt: {} with min score: {}", 
                 receipt.getReceiptId(), minScore);
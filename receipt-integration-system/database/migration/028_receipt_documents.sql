@@ -0,0 +1,29 @@
+-- 기존 DB 용: 영수증 문서 저장소 테이블/인덱스 추가
+-- (신규 DB 는 schema/02, 03 에 포함되어 있으므로 실행하지 않음)
+USE receipt_integration;
+
+-- 영수증 문서 테이블 (SHA-256 기준 내용 주소 저장소)
+CREATE TABLE IF NOT EXISTS receipt_documents (
+    document_hash CHAR(64) NOT NULL COMMENT '문서 SHA-256 (hex)',
+    storage_location VARCHAR(500) NOT NULL COMMENT '저장소 내부 경로',
+    content_type VARCHAR(100),
+    file_size BIGINT NOT NULL,
+    ref_count INT NOT NULL DEFAULT 0 COMMENT '참조 중인 영수증 수',
+    last_referenced_at DATETIME NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (document_hash),
+    UNIQUE KEY idx_storage_location (storage_location),
+    KEY idx_ref_count (ref_count, last_referenced_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 카드사 문서 식별자 -> 문서 해시 매핑 (이미 받은 문서 재다운로드 방지)
+CREATE TABLE IF NOT EXISTS receipt_document_sources (
+    provider_document_id VARCHAR(150) NOT NULL COMMENT '카드사 영수증 문서 식별자',
+    document_hash CHAR(64) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (provider_document_id),
+    KEY idx_document_hash (document_hash)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE INDEX idx_receipt_pdf_url ON electronic_receipts(receipt_pdf_url);
+CREATE INDEX idx_receipt_image_url ON electronic_receipts(receipt_image_url);
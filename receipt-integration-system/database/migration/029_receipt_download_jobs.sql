@@ -0,0 +1,22 @@
+-- 기존 DB 용: 영수증 문서 다운로드 작업 큐 테이블 추가
+-- (신규 DB 는 schema/02 에 포함되어 있으므로 실행하지 않음)
+USE receipt_integration;
+
+-- 영수증 문서 다운로드 작업 큐
+CREATE TABLE IF NOT EXISTS receipt_download_jobs (
+    job_id BIGINT NOT NULL AUTO_INCREMENT,
+    receipt_id BIGINT NOT NULL,
+    card_company VARCHAR(50) NOT NULL,
+    status ENUM('PENDING', 'IN_PROGRESS', 'COMPLETED', 'FAILED') NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME NOT NULL COMMENT '다음 시도 가능 일시',
+    locked_by VARCHAR(100) COMMENT '처리 중인 노드',
+    locked_at DATETIME,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (job_id),
+    UNIQUE KEY idx_download_receipt_id (receipt_id),
+    KEY idx_download_poll (status, next_attempt_at),
+    CONSTRAINT fk_download_receipt FOREIGN KEY (receipt_id) REFERENCES electronic_receipts(receipt_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,21 @@
+-- 기존 DB 용: 웹훅 수신 이벤트 대기 테이블 추가
+-- (신규 DB 는 schema/02 에 포함되어 있으므로 실행하지 않음)
+USE receipt_integration;
+
+-- 웹훅 수신 이벤트 (반영 전 대기, 반영 후 삭제)
+CREATE TABLE pushed_transaction_events (
+    event_seq BIGINT NOT NULL AUTO_INCREMENT,
+    card_company VARCHAR(50) NOT NULL,
+    event_id VARCHAR(100) NOT NULL COMMENT '카드사 이벤트 ID (재전송 중복 제거)',
+    payload JSON NOT NULL COMMENT '거래 이벤트 원문',
+    status ENUM('PENDING', 'IN_PROGRESS', 'FAILED') NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME NOT NULL COMMENT '다음 시도 가능 일시',
+    locked_by VARCHAR(100) COMMENT '처리 중인 노드',
+    locked_at DATETIME,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (event_seq),
+    UNIQUE KEY idx_pushed_event_id (card_company, event_id),
+    KEY idx_pushed_poll (status, next_attempt_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
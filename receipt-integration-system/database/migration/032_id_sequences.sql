@@ -0,0 +1,38 @@
+-- 기존 DB 용: 풀링 ID 할당 테이블 생성 및 현재 최대 ID 기준 초기화, 영수증 품목 테이블 추가
+-- (신규 DB 는 schema/02 에 포함되어 있으므로 실행하지 않음)
+-- 애플리케이션을 모두 중지한 상태에서 배포 전에 1회 실행한다. 실행하지 않으면 기존 행과 PK 가 충돌한다.
+--
+-- Hibernate pooled 할당은 next_val 을 구간의 끝으로 보고 (next_val - allocationSize + 1) 부터 발급하므로
+-- MAX(id) + allocationSize(100) + 1 로 넣어야 첫 발급 ID 가 기존 최대값보다 커진다.
+USE receipt_integration;
+
+CREATE TABLE IF NOT EXISTS id_sequences (
+    sequence_name VARCHAR(100) NOT NULL,
+    next_val BIGINT NOT NULL,
+    PRIMARY KEY (sequence_name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'transaction_records', COALESCE(MAX(transaction_id), 0) + 101 FROM transaction_records
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'electronic_receipts', COALESCE(MAX(receipt_id), 0) + 101 FROM electronic_receipts
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'card_info', COALESCE(MAX(card_id), 0) + 101 FROM card_info
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
+
+-- 영수증 품목 테이블 (배치 저장 시 테이블별 JDBC 배치로 전송)
+CREATE TABLE IF NOT EXISTS receipt_items (
+    receipt_id BIGINT NOT NULL,
+    item_name VARCHAR(200),
+    quantity INT,
+    unit_price DOUBLE,
+    amount DOUBLE,
+    tax_amount DOUBLE,
+    item_category VARCHAR(100),
+    KEY idx_receipt_items_receipt (receipt_id),
+    CONSTRAINT fk_item_receipt FOREIGN KEY (receipt_id) REFERENCES electronic_receipts(receipt_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
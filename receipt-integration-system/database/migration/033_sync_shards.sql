@@ -0,0 +1,22 @@
+-- 기존 DB 용: 일일 동기화 샤드 테이블 추가
+-- (신규 DB 는 schema/02 에 포함되어 있으므로 실행하지 않음)
+USE receipt_integration;
+
+-- 일일 동기화 샤드 (카드 ID 구간 단위, 노드별 임대)
+CREATE TABLE IF NOT EXISTS sync_shards (
+    shard_id BIGINT NOT NULL AUTO_INCREMENT,
+    run_date DATE NOT NULL COMMENT '동기화 실행일',
+    shard_no INT NOT NULL,
+    from_card_id BIGINT NOT NULL,
+    to_card_id BIGINT NOT NULL,
+    status ENUM('PENDING', 'IN_PROGRESS', 'COMPLETED') NOT NULL DEFAULT 'PENDING',
+    lease_owner VARCHAR(100) COMMENT '처리 중인 노드',
+    lease_expires_at DATETIME COMMENT '임대 만료 일시',
+    attempts INT NOT NULL DEFAULT 0,
+    failed_cards INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (shard_id),
+    UNIQUE KEY idx_sync_shard_run (run_date, shard_no),
+    KEY idx_sync_shard_claim (status, run_date, lease_expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,12 @@
+-- 기존 DB 용: 카드 동기화 우선순위 큐 컬럼/인덱스 추가
+-- (신규 DB 는 schema/02, 03 에 포함되어 있으므로 실행하지 않음)
+USE receipt_integration;
+
+-- next_sync_at 이 NULL 인 카드는 즉시 동기화 대상으로 보므로 별도 백필은 하지 않는다
+-- (첫 동기화 후 거래 빈도에 따라 다음 일시가 채워짐)
+ALTER TABLE card_info
+    ADD COLUMN recent_tx_rate DOUBLE NOT NULL DEFAULT 0 COMMENT '최근 일평균 거래 건수' AFTER is_active,
+    ADD COLUMN consecutive_failures INT NOT NULL DEFAULT 0 COMMENT '연속 동기화 실패 횟수' AFTER recent_tx_rate,
+    ADD COLUMN next_sync_at DATETIME COMMENT '다음 동기화 예정 일시' AFTER consecutive_failures;
+
+CREATE INDEX idx_card_sync_queue ON card_info(is_active, card_company, next_sync_at);
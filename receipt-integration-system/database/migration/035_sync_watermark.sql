@@ -0,0 +1,7 @@
+-- 기존 DB 용: 카드별 동기화 재개 지점 컬럼 추가
+-- (신규 DB 는 schema/02 에 포함되어 있으므로 실행하지 않음)
+USE receipt_integration;
+
+-- NULL 이면 기존처럼 last_sync_date 부터 조회하므로 백필하지 않는다
+ALTER TABLE card_info
+    ADD COLUMN sync_watermark DATETIME COMMENT '동기화 재개 지점 (커밋된 최신 거래 일시)' AFTER last_sync_date;
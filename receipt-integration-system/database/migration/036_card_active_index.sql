@@ -0,0 +1,5 @@
+-- 기존 DB 용: 활성 카드 키셋 조회 인덱스 추가
+-- (신규 DB 는 schema/03 에 포함되어 있으므로 실행하지 않음)
+USE receipt_integration;
+
+CREATE INDEX idx_card_active ON card_info(is_active, card_id);
@@ -0,0 +1,30 @@
+-- 기존 DB 용: 매칭 상태 값 변경, 영수증 매칭 상태 컬럼 추가 및 기존 매칭 내역 기준 1회 백필
+-- (신규 DB 는 schema/02, 03 에 포함되어 있으므로 실행하지 않음)
+USE receipt_integration;
+
+-- 매칭 상태 값 변경 (AUTO/MANUAL -> MATCHED). 기존 값을 옮긴 뒤 허용 값을 줄인다.
+ALTER TABLE accounting_matches
+    MODIFY COLUMN match_status ENUM('AUTO', 'MANUAL', 'PENDING', 'MATCHED', 'CANCELLED', 'PARTIAL') NOT NULL DEFAULT 'PENDING';
+
+UPDATE accounting_matches SET match_status = 'MATCHED' WHERE match_status IN ('AUTO', 'MANUAL');
+
+ALTER TABLE accounting_matches
+    MODIFY COLUMN match_status ENUM('PENDING', 'MATCHED', 'CANCELLED', 'PARTIAL') NOT NULL DEFAULT 'PENDING';
+
+ALTER TABLE electronic_receipts
+    ADD COLUMN match_status ENUM('UNMATCHED', 'PARTIAL', 'MATCHED') NOT NULL DEFAULT 'UNMATCHED' COMMENT '매칭 상태 (매칭 내역 기준 유지)'
+    AFTER is_verified;
+
+CREATE INDEX idx_receipt_match_state ON electronic_receipts(match_status, issue_date);
+
+-- ReceiptMatchingService.refreshMatchState 와 같은 기준 (확정 매칭 금액 합계 vs 거래 금액)
+UPDATE electronic_receipts r
+JOIN transaction_records t ON t.transaction_id = r.transaction_id
+JOIN (SELECT m.receipt_id, SUM(m.matched_amount) AS matched_total
+      FROM accounting_matches m
+      WHERE m.match_status IN ('MATCHED', 'PARTIAL')
+      GROUP BY m.receipt_id) mt ON mt.receipt_id = r.receipt_id
+SET r.match_status = CASE
+    WHEN mt.matched_total <= 0 THEN 'UNMATCHED'
+    WHEN mt.matched_total >= t.amount THEN 'MATCHED'
+    ELSE 'PARTIAL' END;
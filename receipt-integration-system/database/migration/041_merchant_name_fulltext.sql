@@ -0,0 +1,8 @@
+-- 기존 DB 용: 가맹점명 ngram FULLTEXT 인덱스 추가
+-- (신규 DB 는 schema/03 에 포함되어 있으므로 실행하지 않음)
+USE receipt_integration;
+
+-- 서버 설정 ngram_token_size=2 가 적용된 상태에서 실행한다 (읽기 전용 변수, 재시작 필요)
+-- 인덱스 생성 중 transaction_records 쓰기가 지연될 수 있으므로 트래픽이 적은 시간에 실행한다
+SET SESSION innodb_ft_enable_stopword = OFF;
+CREATE FULLTEXT INDEX ft_merchant_name ON transaction_records(merchant_name) WITH PARSER ngram;
@@ -0,0 +1,6 @@
+-- 기존 DB 용: 카드 인증 정보 버전 컬럼 추가
+-- (신규 DB 는 schema/02 에 포함되어 있으므로 실행하지 않음)
+USE receipt_integration;
+
+ALTER TABLE card_info
+    ADD COLUMN credentials_version INT NOT NULL DEFAULT 0 COMMENT '인증 정보 버전 (변경 시 증가)' AFTER auth_credentials;
@@ -22,9 +22,14 @@ CREATE TABLE card_info (
     card_type ENUM('CORPORATE', 'PERSONAL') NOT NULL DEFAULT 'CORPORATE' COMMENT '카드 유형',
     auth_type VARCHAR(50) COMMENT '인증 방식',
     auth_credentials TEXT COMMENT '암호화된 인증 정보',
+    credentials_version INT NOT NULL DEFAULT 0 COMMENT '인증 정보 버전 (변경 시 증가)',
     last_sync_date DATETIME COMMENT '마지막 동기화 일시',
+    sync_watermark DATETIME COMMENT '동기화 재개 지점 (커밋된 최신 거래 일시)',
     sync_status ENUM('SUCCESS', 'FAILED', 'IN_PROGRESS') DEFAULT NULL,
     is_active BOOLEAN DEFAULT TRUE,
+    recent_tx_rate DOUBLE NOT NULL DEFAULT 0 COMMENT '최근 일평균 거래 건수',
+    consecutive_failures INT NOT NULL DEFAULT 0 COMMENT '연속 동기화 실패 횟수',
+    next_sync_at DATETIME COMMENT '다음 동기화 예정 일시',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     PRIMARY KEY (card_id),
@@ -33,6 +38,20 @@ CREATE TABLE card_info (
     CONSTRAINT fk_card_user FOREIGN KEY (user_id) REFERENCES users(user_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- ID 할당 테이블 (풀링 방식으로 구간 단위 할당, INSERT 배치 전송용)
+CREATE TABLE id_sequences (
+    sequence_name VARCHAR(100) NOT NULL,
+    next_val BIGINT NOT NULL,
+    PRIMARY KEY (sequence_name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 빈 DB 기준 초기값. 데이터가 있는 DB 에 추가할 때는 1 로 넣으면 기존 PK 와 충돌하므로
+-- database/migration/032_id_sequences.sql 로 MAX(id) 기준 값을 넣는다.
+INSERT INTO id_sequences (sequence_name, next_val) VALUES
+    ('transaction_records', 1),
+    ('electronic_receipts', 1),
+    ('card_info', 1);
+
 -- 거래 내역 테이블 (원본 데이터)
 CREATE TABLE transaction_records (
     transaction_id BIGINT NOT NULL AUTO_INCREMENT,
@@ -72,6 +91,7 @@ CREATE TABLE electronic_receipts (
     receipt_data JSON COMMENT '구조화된 영수증 데이터',
     ocr_text TEXT COMMENT 'OCR 추출 텍스트',
     is_verified BOOLEAN DEFAULT FALSE COMMENT '검증 여부',
+    match_status ENUM('UNMATCHED', 'PARTIAL', 'MATCHED') NOT NULL DEFAULT 'UNMATCHED' COMMENT '매칭 상태 (매칭 내역 기준 유지)',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     PRIMARY KEY (receipt_id),
@@ -81,6 +101,98 @@ CREATE TABLE electronic_receipts (
     CONSTRAINT fk_receipt_transaction FOREIGN KEY (transaction_id) REFERENCES transaction_records(transaction_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- 영수증 품목 테이블
+CREATE TABLE receipt_items (
+    receipt_id BIGINT NOT NULL,
+    item_name VARCHAR(200),
+    quantity INT,
+    unit_price DOUBLE,
+    amount DOUBLE,
+    tax_amount DOUBLE,
+    item_category VARCHAR(100),
+    KEY idx_receipt_items_receipt (receipt_id),
+    CONSTRAINT fk_item_receipt FOREIGN KEY (receipt_id) REFERENCES electronic_receipts(receipt_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 영수증 문서 테이블 (SHA-256 기준 내용 주소 저장소)
+CREATE TABLE receipt_documents (
+    document_hash CHAR(64) NOT NULL COMMENT '문서 SHA-256 (hex)',
+    storage_location VARCHAR(500) NOT NULL COMMENT '저장소 내부 경로',
+    content_type VARCHAR(100),
+    file_size BIGINT NOT NULL,
+    ref_count INT NOT NULL DEFAULT 0 COMMENT '참조 중인 영수증 수',
+    last_referenced_at DATETIME NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (document_hash),
+    UNIQUE KEY idx_storage_location (storage_location),
+    KEY idx_ref_count (ref_count, last_referenced_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 카드사 문서 식별자 -> 문서 해시 매핑 (이미 받은 문서 재다운로드 방지)
+CREATE TABLE receipt_document_sources (
+    provider_document_id VARCHAR(150) NOT NULL COMMENT '카드사 영수증 문서 식별자',
+    document_hash CHAR(64) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (provider_document_id),
+    KEY idx_document_hash (document_hash)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 영수증 문서 다운로드 작업 큐
+CREATE TABLE receipt_download_jobs (
+    job_id BIGINT NOT NULL AUTO_INCREMENT,
+    receipt_id BIGINT NOT NULL,
+    card_company VARCHAR(50) NOT NULL,
+    status ENUM('PENDING', 'IN_PROGRESS', 'COMPLETED', 'FAILED') NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME NOT NULL COMMENT '다음 시도 가능 일시',
+    locked_by VARCHAR(100) COMMENT '처리 중인 노드',
+    locked_at DATETIME,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (job_id),
+    UNIQUE KEY idx_download_receipt_id (receipt_id),
+    KEY idx_download_poll (status, next_attempt_at),
+    CONSTRAINT fk_download_receipt FOREIGN KEY (receipt_id) REFERENCES electronic_receipts(receipt_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 웹훅 수신 이벤트 (반영 전 대기, 반영 후 삭제)
+CREATE TABLE pushed_transaction_events (
+    event_seq BIGINT NOT NULL AUTO_INCREMENT,
+    card_company VARCHAR(50) NOT NULL,
+    event_id VARCHAR(100) NOT NULL COMMENT '카드사 이벤트 ID (재전송 중복 제거)',
+    payload JSON NOT NULL COMMENT '거래 이벤트 원문',
+    status ENUM('PENDING', 'IN_PROGRESS', 'FAILED') NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME NOT NULL COMMENT '다음 시도 가능 일시',
+    locked_by VARCHAR(100) COMMENT '처리 중인 노드',
+    locked_at DATETIME,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (event_seq),
+    UNIQUE KEY idx_pushed_event_id (card_company, event_id),
+    KEY idx_pushed_poll (status, next_attempt_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 일일 동기화 샤드 (카드 ID 구간 단위, 노드별 임대)
+CREATE TABLE sync_shards (
+    shard_id BIGINT NOT NULL AUTO_INCREMENT,
+    run_date DATE NOT NULL COMMENT '동기화 실행일',
+    shard_no INT NOT NULL,
+    from_card_id BIGINT NOT NULL,
+    to_card_id BIGINT NOT NULL,
+    status ENUM('PENDING', 'IN_PROGRESS', 'COMPLETED') NOT NULL DEFAULT 'PENDING',
+    lease_owner VARCHAR(100) COMMENT '처리 중인 노드',
+    lease_expires_at DATETIME COMMENT '임대 만료 일시',
+    attempts INT NOT NULL DEFAULT 0,
+    failed_cards INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (shard_id),
+    UNIQUE KEY idx_sync_shard_run (run_date, shard_no),
+    KEY idx_sync_shard_claim (status, run_date, lease_expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- 회계 연동 테이블 (중앙ERP 장부와 매칭)
 CREATE TABLE accounting_matches (
     match_id BIGINT NOT NULL AUTO_INCREMENT,
@@ -90,7 +202,7 @@ CREATE TABLE accounting_matches (
     account_name VARCHAR(100) COMMENT '계정과목명',
     cost_center VARCHAR(50) COMMENT '코스트센터',
     matched_amount DECIMAL(15,2) NOT NULL,
-    match_status ENUM('AUTO', 'MANUAL', 'PENDING') NOT NULL,
+    match_status ENUM('PENDING', 'MATCHED', 'CANCELLED', 'PARTIAL') NOT NULL DEFAULT 'PENDING',
     matched_by BIGINT COMMENT '매칭 처리자',
     matched_at DATETIME,
     notes TEXT COMMENT '비고',
@@ -1,4 +1,14 @@
 -- 복합 인덱스 추가
 CREATE INDEX idx_transaction_search ON transaction_records(card_id, transaction_datetime, amount);
 CREATE INDEX idx_receipt_search ON electronic_receipts(receipt_type, issue_date, is_verified);
-CREATE INDEX idx_match_search ON accounting_matches(match_status, matched_at);
\ No newline at end of file
+CREATE INDEX idx_match_search ON accounting_matches(match_status, matched_at);
+CREATE INDEX idx_receipt_pdf_url ON electronic_receipts(receipt_pdf_url);
+CREATE INDEX idx_receipt_image_url ON electronic_receipts(receipt_image_url);
+CREATE INDEX idx_card_sync_queue ON card_info(is_active, card_company, next_sync_at);
+CREATE INDEX idx_card_active ON card_info(is_active, card_id);
+CREATE INDEX idx_receipt_match_state ON electronic_receipts(match_status, issue_date);
+
+-- 가맹점명 부분 검색용 ngram FULLTEXT 인덱스 (ngram_token_size=2, 한글/영문 공통)
+-- 기본 불용어(a, the 등)를 포함한 ngram 토큰이 빠지지 않도록 불용어 없이 생성
+SET SESSION innodb_ft_enable_stopword = OFF;
+CREATE FULLTEXT INDEX ft_merchant_name ON transaction_records(merchant_name) WITH PARSER ngram;